@@ -0,0 +1,85 @@
+package looqbox.challenge.microservicepokeapi.config;
+
+import looqbox.challenge.microservicepokeapi.infra.BoundedVirtualThreadExecutor;
+import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.infra.PokedexFileStore;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    // Rough retained size of one Pokemon: the object, its name String and the String's byte array headers.
+    private static final int POKEMON_OVERHEAD_BYTES = 72;
+    private static final int LIST_OVERHEAD_BYTES = 40;
+    private static final int STRING_OVERHEAD_BYTES = 56;
+
+    /**
+     * Pokédex refreshes block on PokéAPI. In virtual-thread mode ({@code spring.threads.virtual.enabled}) they run on
+     * virtual threads, bounded by {@code cache.refresh.max-concurrency} permits instead of a pool size.
+     */
+    @Bean
+    public CacheComponet<String, List<Pokemon>> pokedexCache(@Value("${cache.pokedex.maximum-weight-bytes:16777216}") long maximumWeight,
+                                                             @Value("${cache.pokedex.expected-entries:64}") long expectedEntries,
+                                                             @Value("${cache.pokedex.file-store.enabled:true}") boolean fileStoreEnabled,
+                                                             @Value("${cache.pokedex.file-store.directory:data}") String fileStoreDirectory,
+                                                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                             @Value("${cache.refresh.max-concurrency:16}") int refreshMaxConcurrency) {
+        CacheComponet<String, List<Pokemon>> cache = new CacheComponet<>(maximumWeight, expectedEntries, CacheConfig::estimateBytes);
+        if (fileStoreEnabled) {
+            cache.setSecondLevelCache(new PokedexFileStore(Path.of(fileStoreDirectory)));
+        }
+        if (virtualThreads) {
+            cache.setRefreshExecutor(new BoundedVirtualThreadExecutor("pokedex-refresh", refreshMaxConcurrency));
+        }
+        return cache;
+    }
+
+    @Bean
+    public CacheComponet<String, List<String>> queryResultCacheStore(@Value("${cache.query-results.maximum-weight-bytes:8388608}") long maximumWeight,
+                                                                     @Value("${cache.query-results.expected-entries:8192}") long expectedEntries) {
+        return new CacheComponet<>(maximumWeight, expectedEntries, CacheConfig::estimateNameBytes);
+    }
+
+    @Bean
+    public CacheComponet<String, EncodedResponse> encodedResponseCacheStore(@Value("${cache.encoded-responses.maximum-weight-bytes:4194304}") long maximumWeight,
+                                                                            @Value("${cache.encoded-responses.expected-entries:2048}") long expectedEntries) {
+        return new CacheComponet<>(maximumWeight, expectedEntries, CacheConfig::estimateEncodedBytes);
+    }
+
+    /**
+     * Estimates the heap retained by a cached list of Pokémon; names are assumed to be Latin-1 (one byte per char).
+     */
+    static int estimateBytes(String key, List<Pokemon> pokemons) {
+        long bytes = LIST_OVERHEAD_BYTES + key.length() + 4L * pokemons.size();
+        for (Pokemon pokemon : pokemons) {
+            bytes += POKEMON_OVERHEAD_BYTES + pokemon.getName().length();
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the heap retained by a cached list of names, under the same assumptions as {@link #estimateBytes}.
+     */
+    static int estimateNameBytes(String key, List<String> names) {
+        long bytes = LIST_OVERHEAD_BYTES + key.length() + 4L * names.size();
+        for (String name : names) {
+            bytes += STRING_OVERHEAD_BYTES + name.length();
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    static int estimateEncodedBytes(String key, EncodedResponse response) {
+        long bytes = LIST_OVERHEAD_BYTES + key.length() + response.json().length + response.etag().length();
+        if (response.hasGzip()) {
+            bytes += response.gzipJson().length;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
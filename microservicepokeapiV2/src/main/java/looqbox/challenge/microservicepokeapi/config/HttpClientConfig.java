@@ -0,0 +1,50 @@
+package looqbox.challenge.microservicepokeapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * HTTP/2 client for PokéAPI. Connections are pooled and kept alive by the client itself; HTTP/2 multiplexes
+     * concurrent requests over a single connection per host.
+     * <p>
+     * The keep-alive timeout and pool size are not settings of this client: they are the JVM-wide
+     * {@code jdk.httpclient.keepalive.timeout} and {@code jdk.httpclient.connectionPoolSize} system properties, which
+     * the JDK reads once, when its HTTP client classes are first loaded, and then applies to every client in the
+     * process. Setting them here only works if no client was created earlier in the JVM, and never overrides values
+     * given on the command line ({@code -Djdk.httpclient...}), which is the reliable way to tune them.
+     * <p>
+     * In virtual-thread mode the client's response handling runs on virtual threads too; how many calls reach
+     * PokéAPI at once is bounded by the resilience bulkhead's semaphore, not by this executor.
+     */
+    @Bean
+    public HttpClient pokeApiHttpClient(@Value("${http.client.connect-timeout-ms:2000}") long connectTimeout,
+                                        @Value("${http.client.keep-alive-seconds:30}") long keepAliveSeconds,
+                                        @Value("${http.client.max-pooled-connections:16}") int maxPooledConnections,
+                                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+        setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(maxPooledConnections));
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreads) {
+            builder.executor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-client-", 1).factory()));
+        }
+        return builder.build();
+    }
+
+    private static void setIfAbsent(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package looqbox.challenge.microservicepokeapi.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    /**
+     * Serves the {@code reactive} profile on Reactor Netty. The servlet stack keeps Tomcat on the classpath, and Spring
+     * Boot prefers Tomcat over Netty for reactive applications too, which would put the event-loop controllers on
+     * Tomcat's servlet threads. Server settings ({@code server.port} and the like) still apply to this factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -1,51 +1,171 @@
 package looqbox.challenge.microservicepokeapi.controller;
 
-import looqbox.challenge.microservicepokeapi.model.PokedexResultHighlight;
-import looqbox.challenge.microservicepokeapi.model.Pokemon;
-import looqbox.challenge.microservicepokeapi.model.SimplePokedexResult;
+import looqbox.challenge.microservicepokeapi.model.BatchRequest;
+import looqbox.challenge.microservicepokeapi.model.BatchResult;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.PageQuery;
+import looqbox.challenge.microservicepokeapi.model.ResponseVersion;
+import looqbox.challenge.microservicepokeapi.service.PokedexSnapshot;
 import looqbox.challenge.microservicepokeapi.service.PokemonService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/pokemons")
 public class PokemonController {
 
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(PokemonService.CACHE_TTL, TimeUnit.MILLISECONDS).cachePublic();
+
     private final PokemonService pokemonService;
 
+    @Value("${pokeapi.response.pre-encoded:true}")
+    private boolean preEncodedResponses = true;
+
     public PokemonController(PokemonService pokemonService) {
         this.pokemonService = pokemonService;
     }
 
     @GetMapping
-    public ResponseEntity<SimplePokedexResult> getPokemons(@RequestParam(required = false) String query,
-                                                           @RequestParam(defaultValue = "alphabetical") String sort) {
-        List<Pokemon> pokemons = pokemonService.getAllPokemons();
-        pokemons = pokemonService.filterPokemons(pokemons, query);
-        pokemons = pokemonService.sortPokemons(pokemons, sort);
-        List<String> pokemonsNames = pokemons.stream()
-                .map(Pokemon::getName)
-                .toList();
-
-        return ResponseEntity.ok(new SimplePokedexResult(pokemonsNames));
+    public ResponseEntity<?> getPokemons(@RequestParam(required = false) String query,
+                                         @RequestParam(defaultValue = "alphabetical") String sort,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(defaultValue = "0") int offset,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "false") boolean fuzzy,
+                                         @RequestHeader HttpHeaders requestHeaders) {
+        PageQuery page = new PageQuery(limit, offset, cursor);
+        String view = fuzzy ? PokemonService.FUZZY_NAMES_VIEW : PokemonService.NAMES_VIEW;
+        return respond(view, query, sort, page, requestHeaders);
     }
     @GetMapping("/highlight")
-    public ResponseEntity<PokedexResultHighlight> getPokemonsWithHighlight(@RequestParam(required = false) String query,
-                                                                           @RequestParam(defaultValue = "alphabetical") String sort){
+    public ResponseEntity<?> getPokemonsWithHighlight(@RequestParam(required = false) String query,
+                                                      @RequestParam(defaultValue = "alphabetical") String sort,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(defaultValue = "0") int offset,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                      @RequestHeader HttpHeaders requestHeaders){
+        PageQuery page = new PageQuery(limit, offset, cursor);
+        String view = fuzzy ? PokemonService.FUZZY_HIGHLIGHT_VIEW : PokemonService.HIGHLIGHT_VIEW;
+        return respond(view, query, sort, page, requestHeaders);
+    }
 
-        List<Pokemon> pokemons = pokemonService.getAllPokemons();
-        List<Pokemon> filteredPokemons = pokemonService.filterPokemons(pokemons, query);
-        List<Pokemon> sortedPokemons = pokemonService.sortPokemons(filteredPokemons, sort);
+    @GetMapping("/suggest")
+    public ResponseEntity<?> getSuggestions(@RequestParam(required = false) String query,
+                                            @RequestParam(defaultValue = "alphabetical") String sort,
+                                            @RequestParam(defaultValue = "" + PokemonService.DEFAULT_SUGGESTIONS) int limit,
+                                            @RequestHeader HttpHeaders requestHeaders) {
+        PageQuery page = new PageQuery(limit, 0, null);
+        return respond(PokemonService.SUGGEST_VIEW, query, sort, page, requestHeaders);
+    }
+
+    /**
+     * Runs several searches in one request. Batches are not cached or validated: their bodies depend on the whole
+     * request, which a {@code POST} does not expose to HTTP caches anyway.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> getBatch(@RequestBody BatchRequest request) {
+        return ResponseEntity.ok(pokemonService.getBatchResult(request));
+    }
 
+    /**
+     * Answers conditional requests from the response validators alone; otherwise serves the body, pre-encoded when
+     * that mode is on. Validators and body both come from one snapshot, so a refresh landing mid-request cannot
+     * send (or cache) a new body under the previous entity tag.
+     */
+    private ResponseEntity<?> respond(String view, String query, String sort, PageQuery page, HttpHeaders requestHeaders) {
+        PokedexSnapshot snapshot = pokemonService.getSnapshot();
+        ResponseVersion version = pokemonService.getResponseVersion(snapshot, view, query, sort, page);
+        boolean gzip = preEncodedResponses && acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? EncodedResponse.gzipETag(version.etag()) : version.etag();
+        if (isNotModified(requestHeaders, etag, version.lastModified())) {
+            return validated(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, version).build();
+        }
 
-        List<Pokemon> highlightedPokemons = pokemonService.getPokemonsWithHighlight(sortedPokemons, query);
+        Supplier<?> payload = () -> pokemonService.getResult(snapshot, view, query, sort, page);
+        if (preEncodedResponses) {
+            return encodedResponse(pokemonService.getEncodedResponse(version, payload), gzip, etag, version);
+        }
+        return validated(ResponseEntity.ok(), etag, version).body(payload.get());
+    }
 
-        return ResponseEntity.ok(new PokedexResultHighlight(highlightedPokemons));
+    static ResponseEntity<byte[]> encodedResponse(EncodedResponse response, boolean gzip, String etag, ResponseVersion version) {
+        ResponseEntity.BodyBuilder builder = validated(ResponseEntity.ok(), etag, version)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip && response.hasGzip()) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzipJson());
+        }
+        return builder.body(response.json());
     }
 
-}
\ No newline at end of file
+    static ResponseEntity.BodyBuilder validated(ResponseEntity.BodyBuilder builder, String etag, ResponseVersion version) {
+        return builder.eTag(etag)
+                .lastModified(version.lastModified())
+                .cacheControl(CACHE_CONTROL)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Evaluates the conditional headers as RFC 9110 orders them: If-None-Match, using weak comparison, and only in
+     * its absence If-Modified-Since.
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, String etag, long lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String opaqueTag = stripWeakPrefix(etag);
+            for (String candidate : ifNoneMatch) {
+                if (candidate.equals("*") || stripWeakPrefix(candidate).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * True when the Accept-Encoding header lists gzip without refusing it through {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            if (!parts[0].trim().equals("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].replace(" ", "");
+                if (parameter.equals("q=0") || parameter.startsWith("q=0.") && parameter.matches("q=0\\.0*")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
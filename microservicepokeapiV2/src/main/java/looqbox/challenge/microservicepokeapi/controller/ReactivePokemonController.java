@@ -0,0 +1,135 @@
+package looqbox.challenge.microservicepokeapi.controller;
+
+import looqbox.challenge.microservicepokeapi.model.BatchRequest;
+import looqbox.challenge.microservicepokeapi.model.BatchResult;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.PageQuery;
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.model.PokemonPage;
+import looqbox.challenge.microservicepokeapi.service.PokemonService;
+import looqbox.challenge.microservicepokeapi.service.ReactivePokemonService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux flavor of {@link PokemonController}, active under the {@code reactive} profile. The JSON endpoints answer
+ * exactly like the servlet ones, validators and pre-encoded bodies included. The {@code /stream} endpoints emit the
+ * results as NDJSON, one name or Pokémon per line, straight from the snapshot's sorted view instead of building the
+ * whole body first; the cursor of the next page, if any, travels in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/pokemons")
+public class ReactivePokemonController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactivePokemonService pokemonService;
+
+    @Value("${pokeapi.response.pre-encoded:true}")
+    private boolean preEncodedResponses = true;
+
+    public ReactivePokemonController(ReactivePokemonService pokemonService) {
+        this.pokemonService = pokemonService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getPokemons(@RequestParam(required = false) String query,
+                                               @RequestParam(defaultValue = "alphabetical") String sort,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(defaultValue = "0") int offset,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "false") boolean fuzzy,
+                                               @RequestHeader HttpHeaders requestHeaders) {
+        PageQuery page = new PageQuery(limit, offset, cursor);
+        String view = fuzzy ? PokemonService.FUZZY_NAMES_VIEW : PokemonService.NAMES_VIEW;
+        return respond(view, query, sort, page, requestHeaders);
+    }
+
+    @GetMapping("/highlight")
+    public Mono<ResponseEntity<?>> getPokemonsWithHighlight(@RequestParam(required = false) String query,
+                                                            @RequestParam(defaultValue = "alphabetical") String sort,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            @RequestParam(defaultValue = "0") int offset,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                            @RequestHeader HttpHeaders requestHeaders) {
+        PageQuery page = new PageQuery(limit, offset, cursor);
+        String view = fuzzy ? PokemonService.FUZZY_HIGHLIGHT_VIEW : PokemonService.HIGHLIGHT_VIEW;
+        return respond(view, query, sort, page, requestHeaders);
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<?>> getSuggestions(@RequestParam(required = false) String query,
+                                                  @RequestParam(defaultValue = "alphabetical") String sort,
+                                                  @RequestParam(defaultValue = "" + PokemonService.DEFAULT_SUGGESTIONS) int limit,
+                                                  @RequestHeader HttpHeaders requestHeaders) {
+        PageQuery page = new PageQuery(limit, 0, null);
+        return respond(PokemonService.SUGGEST_VIEW, query, sort, page, requestHeaders);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> getBatch(@RequestBody BatchRequest request) {
+        return pokemonService.getBatchResult(request).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<String>>> streamPokemons(@RequestParam(required = false) String query,
+                                                             @RequestParam(defaultValue = "alphabetical") String sort,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(defaultValue = "0") int offset,
+                                                             @RequestParam(required = false) String cursor) {
+        return pokemonService.searchPokemonPage(query, sort, new PageQuery(limit, offset, cursor))
+                .map(result -> streamed(result).body(Flux.fromIterable(result.pokemons()).map(Pokemon::getName)));
+    }
+
+    @GetMapping(value = "/highlight/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Pokemon>>> streamPokemonsWithHighlight(@RequestParam(required = false) String query,
+                                                                           @RequestParam(defaultValue = "alphabetical") String sort,
+                                                                           @RequestParam(required = false) Integer limit,
+                                                                           @RequestParam(defaultValue = "0") int offset,
+                                                                           @RequestParam(required = false) String cursor) {
+        return pokemonService.searchHighlightPage(query, sort, new PageQuery(limit, offset, cursor))
+                .map(result -> streamed(result).body(Flux.fromIterable(result.pokemons())));
+    }
+
+    /**
+     * Same flow as {@link PokemonController}: conditional requests are answered from the validators alone, before
+     * any search or serialization is scheduled, and validators and body come from the same snapshot.
+     */
+    private Mono<ResponseEntity<?>> respond(String view, String query, String sort, PageQuery page, HttpHeaders requestHeaders) {
+        boolean gzip = preEncodedResponses && PokemonController.acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        return pokemonService.getSnapshot().flatMap(snapshot -> pokemonService.getResponseVersion(snapshot, view, query, sort, page)
+                .<ResponseEntity<?>>flatMap(version -> {
+                    String etag = gzip ? EncodedResponse.gzipETag(version.etag()) : version.etag();
+                    if (PokemonController.isNotModified(requestHeaders, etag, version.lastModified())) {
+                        return Mono.just(PokemonController.validated(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, version).build());
+                    }
+
+                    if (preEncodedResponses) {
+                        return pokemonService.getEncodedResponse(version, snapshot, view, query, sort, page)
+                                .map(response -> PokemonController.encodedResponse(response, gzip, etag, version));
+                    }
+                    return pokemonService.getResult(snapshot, view, query, sort, page)
+                            .map(body -> PokemonController.validated(ResponseEntity.ok(), etag, version).body(body));
+                }));
+    }
+
+    private static ResponseEntity.BodyBuilder streamed(PokemonPage result) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        return result.nextCursor() == null ? builder : builder.header(NEXT_CURSOR_HEADER, result.nextCursor());
+    }
+}
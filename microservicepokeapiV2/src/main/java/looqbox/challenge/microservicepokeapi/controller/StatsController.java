@@ -0,0 +1,63 @@
+package looqbox.challenge.microservicepokeapi.controller;
+
+import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.infra.HttpRequestComponet;
+import looqbox.challenge.microservicepokeapi.infra.ResilienceRegistry;
+import looqbox.challenge.microservicepokeapi.model.CacheStats;
+import looqbox.challenge.microservicepokeapi.model.HttpClientStats;
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.model.ResilienceStats;
+import looqbox.challenge.microservicepokeapi.service.EncodedResponseCache;
+import looqbox.challenge.microservicepokeapi.service.QueryResultCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final CacheComponet<String, List<Pokemon>> cacheComponet;
+    private final QueryResultCache queryResultCache;
+    private final EncodedResponseCache encodedResponseCache;
+    private final HttpRequestComponet httpRequestComponet;
+    private final ResilienceRegistry resilienceRegistry;
+
+    public StatsController(CacheComponet<String, List<Pokemon>> cacheComponet, QueryResultCache queryResultCache,
+                           EncodedResponseCache encodedResponseCache, HttpRequestComponet httpRequestComponet,
+                           ResilienceRegistry resilienceRegistry) {
+        this.cacheComponet = cacheComponet;
+        this.queryResultCache = queryResultCache;
+        this.encodedResponseCache = encodedResponseCache;
+        this.httpRequestComponet = httpRequestComponet;
+        this.resilienceRegistry = resilienceRegistry;
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return ResponseEntity.ok(cacheComponet.stats());
+    }
+
+    @GetMapping("/query-cache")
+    public ResponseEntity<CacheStats> getQueryCacheStats() {
+        return ResponseEntity.ok(queryResultCache.stats());
+    }
+
+    @GetMapping("/response-cache")
+    public ResponseEntity<CacheStats> getResponseCacheStats() {
+        return ResponseEntity.ok(encodedResponseCache.stats());
+    }
+
+    @GetMapping("/http-client")
+    public ResponseEntity<HttpClientStats> getHttpClientStats() {
+        return ResponseEntity.ok(httpRequestComponet.stats());
+    }
+
+    @GetMapping("/resilience")
+    public ResponseEntity<List<ResilienceStats>> getResilienceStats() {
+        return ResponseEntity.ok(resilienceRegistry.stats());
+    }
+}
@@ -1,7 +1,35 @@
 package looqbox.challenge.microservicepokeapi.exception;
 
 public class ApiRequestException extends RuntimeException {
+
+    /**
+     * HTTP status the upstream answered with, or 0 when no response was received.
+     */
+    private final int statusCode;
+
     public ApiRequestException(String message) {
+        this(message, 0);
+    }
+
+    public ApiRequestException(String message, int statusCode) {
         super(message);
+        this.statusCode = statusCode;
+    }
+
+    public ApiRequestException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Whether the failure says something about the upstream's health: no response at all, a 5xx or a 429. Other 4xx
+     * answers mean the upstream is up and would answer the same again.
+     */
+    public boolean isTransient() {
+        return statusCode == 0 || statusCode >= 500 || statusCode == 429;
     }
 }
@@ -0,0 +1,12 @@
+package looqbox.challenge.microservicepokeapi.exception;
+
+public class BulkheadFullException extends ApiRequestException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+
+    @Override
+    public boolean isTransient() {
+        return false;
+    }
+}
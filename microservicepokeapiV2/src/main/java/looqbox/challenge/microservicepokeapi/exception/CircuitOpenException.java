@@ -0,0 +1,20 @@
+package looqbox.challenge.microservicepokeapi.exception;
+
+public class CircuitOpenException extends ApiRequestException {
+
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    @Override
+    public boolean isTransient() {
+        return false;
+    }
+}
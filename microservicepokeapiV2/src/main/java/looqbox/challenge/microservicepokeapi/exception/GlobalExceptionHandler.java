@@ -1,18 +1,29 @@
 package looqbox.challenge.microservicepokeapi.exception;
 
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(ApiRequestException.class)
     public ResponseEntity<String> handleApiRequestException(ApiRequestException ex) {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
     }
 
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<String> handleCircuitOpenException(CircuitOpenException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfterMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidSortingStrategyException.class)
     public ResponseEntity<String> handleInvalidSortingStrategyException(InvalidSortingStrategyException ex) {
         return ResponseEntity.badRequest().body("Invalid sorting strategy: " + ex.getMessage());
@@ -44,9 +55,29 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    @ExceptionHandler(CacheException.class)
+    public ResponseEntity<String> handleCacheException(CacheException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(CacheCleanupException.class)
     public ResponseEntity<String> handleCacheCleanupException(CacheCleanupException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("An error occurred during cache cleanup: " + ex.getMessage());
     }
+
+    @ExceptionHandler(ResponseEncodingException.class)
+    public ResponseEntity<String> handleResponseEncodingException(ResponseEncodingException ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<String> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<String> handleInvalidBatchRequestException(InvalidBatchRequestException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
 }
@@ -0,0 +1,7 @@
+package looqbox.challenge.microservicepokeapi.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+    public InvalidBatchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package looqbox.challenge.microservicepokeapi.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
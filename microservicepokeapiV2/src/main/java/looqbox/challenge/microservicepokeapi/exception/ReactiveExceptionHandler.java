@@ -0,0 +1,63 @@
+package looqbox.challenge.microservicepokeapi.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * The WebFlux counterpart of {@link GlobalExceptionHandler}, active under the {@code reactive} profile, mapping the
+ * same exceptions to the same statuses and bodies.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+    @ExceptionHandler({ApiRequestException.class, CacheException.class})
+    public ResponseEntity<String> handleUnavailable(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<String> handleCircuitOpenException(CircuitOpenException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfterMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSortingStrategyException.class)
+    public ResponseEntity<String> handleInvalidSortingStrategyException(InvalidSortingStrategyException ex) {
+        return ResponseEntity.badRequest().body("Invalid sorting strategy: " + ex.getMessage());
+    }
+
+    @ExceptionHandler({InvalidSortTypeException.class, InvalidPageRequestException.class,
+            InvalidBatchRequestException.class, NullKeyException.class, NullValueException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(SortingException.class)
+    public ResponseEntity<String> handleSortingException(SortingException ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("An error occurred while sorting the Pokémon list: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(CacheCleanupException.class)
+    public ResponseEntity<String> handleCacheCleanupException(CacheCleanupException ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("An error occurred during cache cleanup: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(ResponseEncodingException.class)
+    public ResponseEntity<String> handleResponseEncodingException(ResponseEncodingException ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleGenericException(Exception ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
+    }
+}
@@ -0,0 +1,7 @@
+package looqbox.challenge.microservicepokeapi.exception;
+
+public class ResponseEncodingException extends RuntimeException {
+    public ResponseEncodingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs every task on its own virtual thread, with at most {@code maxConcurrency} of them running at once.
+ * <p>
+ * Logic Explanation:
+ * Concurrency is bounded by a semaphore rather than by a pool size: each task starts right away and its virtual
+ * thread parks on the semaphore until a permit frees up. Parked virtual threads cost a few hundred bytes and no
+ * carrier thread, so a burst of tasks queues up cheaply instead of being rejected or tying up platform threads.
+ */
+public final class BoundedVirtualThreadExecutor implements Executor {
+
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+
+    public BoundedVirtualThreadExecutor(String name, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive.");
+        }
+        this.permits = new Semaphore(maxConcurrency);
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 1).factory();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        threadFactory.newThread(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        }).start();
+    }
+}
@@ -0,0 +1,40 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the calls in flight to one upstream target, so a slow upstream ties up at most {@code maxConcurrentCalls}
+ * callers; the rest wait up to {@code maxWait} for a slot and are then turned away.
+ */
+public final class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final long maxWait;
+    private final Semaphore permits;
+
+    public Bulkhead(int maxConcurrentCalls, long maxWait) {
+        if (maxConcurrentCalls < 1 || maxWait < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead settings.");
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        return permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int maxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int callsInFlight() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
@@ -1,70 +1,493 @@
 package looqbox.challenge.microservicepokeapi.infra;
 
+import looqbox.challenge.microservicepokeapi.exception.CacheException;
 import looqbox.challenge.microservicepokeapi.exception.NullKeyException;
 import looqbox.challenge.microservicepokeapi.exception.NullValueException;
-import looqbox.challenge.microservicepokeapi.exception.CacheCleanupException;
-import org.springframework.stereotype.Component;
+import looqbox.challenge.microservicepokeapi.model.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
 
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
-@Component
+/**
+ * In-memory cache with per-entry TTLs, single-flight loading and stale-while-revalidate.
+ *
+ * When built with a maximum weight, the cache is bounded: every write is weighed and the Window TinyLFU policy
+ * evicts entries until the total weight fits again. Hits stay lock-free; they are only recorded in a lossy
+ * buffer that is replayed against the policy by whichever thread next takes the eviction lock.
+ *
+ * Expiry is driven by a hierarchical timer wheel advanced once a second by the scheduler thread shared by all
+ * caches, so expired entries are dropped close to their deadline without sweeping the whole map.
+ */
 public class CacheComponet<K, V> {
 
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
     private final Map<K, CacheItem<V>> cacheMap = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+    private final Map<K, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    // Both null when the cache is unbounded.
+    private final WindowTinyLfuPolicy<K> policy;
+    private final ReadBuffer<K> readBuffer;
+    private final Ticker ticker;
+    private final TimerWheel<K> timerWheel;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile long weightedSize;
+    private volatile SecondLevelCache<K, V> secondLevelCache;
+    private volatile Executor refreshExecutor = CacheScheduler.refreshExecutor();
+
+    private static final long DEFAULT_LOAD_TIMEOUT = 10L * 1000;
+    private static final long FAILED_REFRESH_RETRY_DELAY = 5L * 1000;
+    private static final long MAINTENANCE_PERIOD = 1000;
+
+    @Value("${cache.load-timeout-ms:10000}")
+    private long loadTimeout = DEFAULT_LOAD_TIMEOUT;
 
     public CacheComponet() {
-        executorService.scheduleAtFixedRate(this::cleanUp, 1, 1, TimeUnit.MINUTES);
+        this(UNBOUNDED, Weigher.singleton());
+    }
+
+    /**
+     * @param maximumWeight Maximum total weight of the entries, or {@link #UNBOUNDED}. Also taken as the expected
+     *                      number of entries, which suits caches where every entry weighs about one.
+     * @param weigher       Weighs each entry on write.
+     */
+    public CacheComponet(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, maximumWeight, weigher);
+    }
+
+    /**
+     * @param expectedEntries Number of entries expected once the cache reaches its maximum weight; sizes the
+     *                        eviction policy's frequency sketch up front.
+     */
+    public CacheComponet(long maximumWeight, long expectedEntries, Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, expectedEntries, weigher, Ticker.coarse());
+    }
+
+    /**
+     * @param ticker Time source for expiry; tests can pass a manual one and call {@link #cleanUp()} themselves.
+     */
+    public CacheComponet(long maximumWeight, Weigher<? super K, ? super V> weigher, Ticker ticker) {
+        this(maximumWeight, maximumWeight, weigher, ticker);
+    }
+
+    public CacheComponet(long maximumWeight, long expectedEntries, Weigher<? super K, ? super V> weigher,
+                         Ticker ticker) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.ticker = ticker;
+        this.policy = maximumWeight == UNBOUNDED ? null : new WindowTinyLfuPolicy<>(maximumWeight, expectedEntries);
+        this.readBuffer = maximumWeight == UNBOUNDED ? null : new ReadBuffer<>();
+        this.timerWheel = new TimerWheel<>(ticker.read());
+        CacheScheduler.scheduleMaintenance(this, CacheComponet::cleanUp, MAINTENANCE_PERIOD);
     }
 
     public void put(K key, V value, long ttl) {
+        put(key, value, CacheRefreshPolicy.expireAfter(ttl), null);
+    }
+
+    /**
+     * Returns the value of a key until its hard TTL, or null if it is absent or expired.
+     */
+    public V get(K key) {
         if (key == null) {
             throw new NullKeyException("Key cannot be null.");
         }
-        if (value == null) {
-            throw new NullValueException("Value cannot be null.");
+
+        CacheItem<V> item = cacheMap.get(key);
+        long now = ticker.read();
+        if (item == null || item.isExpired(now)) {
+            misses.increment();
+            if (item != null && !item.isRetained(now)) {
+                remove(key, item);
+            }
+            return null;
         }
-        cacheMap.put(key, new CacheItem<>(value, ttl));
+        recordHit(key, item);
+        return item.value;
     }
 
-    public V get(K key) {
+    /**
+     * Returns the cached value or loads it, running at most one loader per key at a time. Callers that miss while a
+     * load is in flight wait on the same future instead of calling the loader themselves (single-flight).
+     *
+     * @param key    The cache key.
+     * @param loader Produces the value on a miss; its exceptions are rethrown to every waiting caller.
+     * @param ttl    Time to live of the loaded value, in milliseconds.
+     * @throws CacheException If waiting for another caller's load exceeds the configured load timeout.
+     */
+    public V getOrLoad(K key, Supplier<V> loader, long ttl) {
+        return getOrLoad(key, loader, CacheRefreshPolicy.expireAfter(ttl));
+    }
+
+    /**
+     * Like {@link #getOrLoad(Object, Supplier, long)}, but past the soft TTL the cached value is returned immediately
+     * while one background refresh runs, and a failed reload keeps serving the last good value up to the policy's
+     * maximum staleness. Hot keys are also refreshed ahead of their soft TTL by the scheduler.
+     *
+     * @throws CacheException If waiting for another caller's load exceeds the configured load timeout.
+     */
+    public V getOrLoad(K key, Supplier<V> loader, CacheRefreshPolicy policy) {
         if (key == null) {
             throw new NullKeyException("Key cannot be null.");
         }
 
         CacheItem<V> item = cacheMap.get(key);
-        if (item == null || item.isExpired()) {
-            cacheMap.remove(key);
+        long now = ticker.read();
+        if (item != null && !item.isExpired(now)) {
+            recordHit(key, item);
+            if (item.isStale(now)) {
+                staleHits.increment();
+                refreshAsync(key, loader, policy);
+            }
+            return item.value;
+        }
+
+        misses.increment();
+        CompletableFuture<V> ownLoad = new CompletableFuture<>();
+        CompletableFuture<V> inFlightLoad = inFlightLoads.putIfAbsent(key, ownLoad);
+        if (inFlightLoad != null) {
+            coalescedLoads.increment();
+            return awaitLoad(key, inFlightLoad);
+        }
+
+        boolean revalidate = false;
+        try {
+            // Another loader may have finished between the miss above and registering this one.
+            CacheItem<V> current = cacheMap.get(key);
+            V value;
+            if (current != null && !current.isExpired(ticker.read())) {
+                value = current.value;
+            } else {
+                CacheItem<V> restored = current == null ? restore(key, loader, policy) : null;
+                long restoredAt = ticker.read();
+                if (restored != null && !restored.isExpired(restoredAt)) {
+                    value = restored.value;
+                    revalidate = restored.isStale(restoredAt);
+                } else {
+                    value = load(key, loader, policy, restored != null ? restored : current);
+                }
+            }
+            ownLoad.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            ownLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, ownLoad);
+            if (revalidate) {
+                refreshAsync(key, loader, policy);
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        long currentWeight = policy == null ? cacheMap.size() : weightedSize;
+        return new CacheStats(cacheMap.size(), currentWeight, maximumWeight, hits.sum(), misses.sum(),
+                evictions.sum(), coalescedLoads.sum(), staleHits.sum(), refreshes.sum(), failedRefreshes.sum());
+    }
+
+    public void setLoadTimeout(long loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * Replaces the executor running background refreshes and second-level writes, which defaults to a cached pool of
+     * platform threads shared by every cache.
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public void setSecondLevelCache(SecondLevelCache<K, V> secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    private void put(K key, V value, CacheRefreshPolicy policy, Supplier<V> loader) {
+        if (key == null) {
+            throw new NullKeyException("Key cannot be null.");
+        }
+        if (value == null) {
+            throw new NullValueException("Value cannot be null.");
+        }
+        store(key, new CacheItem<>(value, ticker.read(), policy, loader));
+    }
+
+    /**
+     * Writes an item and schedules its next timer. The write and any evictions it causes happen under the eviction
+     * lock, so the map, the eviction policy and the timer wheel never disagree about which keys are resident.
+     */
+    private void store(K key, CacheItem<V> item) {
+        int weight = policy == null ? 0 : weigher.weigh(key, item.value);
+        if (weight < 0) {
+            throw new CacheException("Weigher returned a negative weight for key: " + key);
+        }
+        evictionLock.lock();
+        try {
+            cacheMap.put(key, item);
+            timerWheel.schedule(key, item.nextDeadline());
+            if (policy != null) {
+                drainReadBuffer();
+                for (K evictedKey : policy.recordWrite(key, weight)) {
+                    cacheMap.remove(evictedKey);
+                    timerWheel.cancel(evictedKey);
+                    evictions.increment();
+                }
+                weightedSize = policy.weightedSize();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(K key, CacheItem<V> item) {
+        evictionLock.lock();
+        try {
+            if (cacheMap.remove(key, item)) {
+                timerWheel.cancel(key);
+                if (policy != null) {
+                    policy.remove(key);
+                    weightedSize = policy.weightedSize();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void recordHit(K key, CacheItem<V> item) {
+        hits.increment();
+        item.markAccessed();
+        if (readBuffer != null && readBuffer.offer(key) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(policy::recordAccess);
+    }
+
+    /**
+     * Runs the loader and stores its value. If it fails while the previous value is still within its maximum
+     * staleness, that value is kept, served, and retried later instead of propagating the failure.
+     */
+    private V load(K key, Supplier<V> loader, CacheRefreshPolicy policy, CacheItem<V> previous) {
+        try {
+            V value = loader.get();
+            put(key, value, policy, loader);
+            writeSecondLevel(key, value);
+            return value;
+        } catch (RuntimeException e) {
+            long now = ticker.read();
+            if (previous == null || !previous.isRetained(now)) {
+                throw e;
+            }
+            failedRefreshes.increment();
+            store(key, previous.retryLater(now));
+            return previous.value;
+        }
+    }
+
+    /**
+     * Stores a miss from the second-level cache, if any, aged by the time since it was written. Within its hard TTL
+     * the caller answers with it right away (revalidating it in the background once stale); past it, the value is
+     * only a fallback for a failing load; and past its maximum staleness it is ignored.
+     *
+     * @return The restored item, or null if there was nothing usable to restore.
+     */
+    private CacheItem<V> restore(K key, Supplier<V> loader, CacheRefreshPolicy policy) {
+        SecondLevelCache<K, V> currentSecondLevel = secondLevelCache;
+        SecondLevelCache.Persisted<V> persisted = currentSecondLevel == null ? null : currentSecondLevel.read(key);
+        if (persisted == null || persisted.value() == null) {
             return null;
         }
-        return item.value;
+        long now = ticker.read();
+        CacheItem<V> item = new CacheItem<>(persisted.value(), Math.min(persisted.writtenAt(), now), policy, loader);
+        if (!item.isRetained(now)) {
+            return null;
+        }
+        store(key, item);
+        return item;
+    }
+
+    private void writeSecondLevel(K key, V value) {
+        SecondLevelCache<K, V> currentSecondLevel = secondLevelCache;
+        if (currentSecondLevel == null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> currentSecondLevel.write(key, value));
+        } catch (RejectedExecutionException e) {
+            // The second level is best effort; the value is already in memory.
+        }
+    }
+
+    private void refreshAsync(K key, Supplier<V> loader, CacheRefreshPolicy policy) {
+        CompletableFuture<V> ownLoad = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(key, ownLoad) != null) {
+            return;
+        }
+
+        refreshes.increment();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    ownLoad.complete(load(key, loader, policy, cacheMap.get(key)));
+                } catch (RuntimeException e) {
+                    ownLoad.completeExceptionally(e);
+                } finally {
+                    inFlightLoads.remove(key, ownLoad);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightLoads.remove(key, ownLoad);
+            ownLoad.completeExceptionally(e);
+        }
     }
 
-    private void cleanUp() {
+
+    private V awaitLoad(K key, CompletableFuture<V> load) {
         try {
-            cacheMap.entrySet().removeIf(entry -> entry.getValue().isExpired());
-        } catch (Exception e) {
-            throw new CacheCleanupException("Error cleaning up the cache.");
+            return load.get(loadTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CacheException("Timed out after " + loadTimeout + " ms waiting for key: " + key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CacheException("Failed to load key: " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for key: " + key);
+        }
+    }
+
+    /**
+     * Advances the timer wheel: entries past their maximum staleness are removed, and hot entries reaching their
+     * refresh-ahead time are reloaded in the background. Runs once a second on the shared scheduler thread.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            if (policy != null) {
+                drainReadBuffer();
+            }
+            long now = ticker.read();
+            for (K key : timerWheel.advance(now)) {
+                CacheItem<V> item = cacheMap.get(key);
+                if (item == null) {
+                    continue;
+                }
+                if (!item.isRetained(now)) {
+                    remove(key, item);
+                    continue;
+                }
+                if (item.shouldRefreshAhead(now)) {
+                    refreshAsync(key, item.loader, item.policy);
+                }
+                timerWheel.schedule(key, item.retainUntil());
+            }
+        } finally {
+            evictionLock.unlock();
         }
     }
 
 
     private static class CacheItem<V> {
         final V value;
+        final long writeTime;
+        final long refreshTime;
         final long expiryTime;
+        final CacheRefreshPolicy policy;
+        final Supplier<V> loader;
+        // Set on copies kept after a failed reload, which are only retried by reads once their refresh time passes.
+        final boolean failed;
+        volatile boolean accessed;
+
+        CacheItem(V value, long writeTime, CacheRefreshPolicy policy, Supplier<V> loader) {
+            this(value, writeTime, writeTime + policy.softTtl(), writeTime + policy.hardTtl(), policy, loader, false);
+        }
 
-        CacheItem(V value, long ttl) {
+        private CacheItem(V value, long writeTime, long refreshTime, long expiryTime, CacheRefreshPolicy policy,
+                          Supplier<V> loader, boolean failed) {
             this.value = value;
-            this.expiryTime = System.currentTimeMillis() + ttl;
+            this.writeTime = writeTime;
+            this.refreshTime = refreshTime;
+            this.expiryTime = expiryTime;
+            this.policy = policy;
+            this.loader = loader;
+            this.failed = failed;
+        }
+
+        boolean isStale(long now) {
+            return now >= refreshTime;
+        }
+
+        boolean isExpired(long now) {
+            return now > expiryTime;
+        }
+
+        /**
+         * Whether the value may still be used as a fallback when reloading fails.
+         */
+        boolean isRetained(long now) {
+            return now <= retainUntil();
+        }
+
+        long retainUntil() {
+            return writeTime + policy.maxStaleness();
+        }
+
+        /**
+         * The refresh-ahead time if refresh-ahead applies, otherwise the time the entry stops being retained.
+         */
+        long nextDeadline() {
+            boolean refreshAhead = loader != null && !failed && policy.refreshAheadTime() > 0;
+            return refreshAhead ? Math.max(refreshTime - policy.refreshAheadTime(), writeTime) : retainUntil();
+        }
+
+        boolean shouldRefreshAhead(long now) {
+            return loader != null && accessed && !failed && policy.refreshAheadTime() > 0
+                    && now >= refreshTime - policy.refreshAheadTime() && !isExpired(now);
+        }
+
+        void markAccessed() {
+            if (!accessed) {
+                accessed = true;
+            }
         }
 
-        boolean isExpired() {
-            return System.currentTimeMillis() > expiryTime;
+        /**
+         * Copy served after a failed reload: usable until the maximum staleness, refreshed again after a short delay.
+         */
+        CacheItem<V> retryLater(long now) {
+            long retainUntil = retainUntil();
+            return new CacheItem<>(value, writeTime, Math.min(now + FAILED_REFRESH_RETRY_DELAY, retainUntil),
+                    retainUntil, policy, loader, true);
         }
     }
 }
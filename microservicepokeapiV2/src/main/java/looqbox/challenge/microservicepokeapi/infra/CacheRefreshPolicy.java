@@ -0,0 +1,29 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * How long a {@link CacheComponet} entry stays fresh, stale and usable as a fallback. All times are in milliseconds.
+ *
+ * @param softTtl          After this, callers still get the cached value but trigger one background refresh.
+ * @param hardTtl          After this, callers block on a reload (stale-while-revalidate window is softTtl..hardTtl).
+ * @param maxStaleness     While reloads fail, the last good value keeps being served up to this age.
+ * @param refreshAheadTime Entries read since their last load are refreshed this long before softTtl; 0 disables it.
+ */
+public record CacheRefreshPolicy(long softTtl, long hardTtl, long maxStaleness, long refreshAheadTime) {
+
+    public CacheRefreshPolicy {
+        if (softTtl > hardTtl || hardTtl > maxStaleness) {
+            throw new IllegalArgumentException("Expected softTtl <= hardTtl <= maxStaleness but got "
+                    + softTtl + ", " + hardTtl + ", " + maxStaleness);
+        }
+        if (refreshAheadTime < 0) {
+            throw new IllegalArgumentException("refreshAheadTime cannot be negative.");
+        }
+    }
+
+    /**
+     * A policy with a single expiry: no stale window, no fallback and no refresh-ahead.
+     */
+    public static CacheRefreshPolicy expireAfter(long ttl) {
+        return new CacheRefreshPolicy(ttl, ttl, ttl, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Threads shared by every {@link CacheComponet} in the JVM: one daemon scheduler thread that ticks the coarse clock,
+ * runs each cache's periodic maintenance and fires short timeouts, plus a pool for background refreshes, which may
+ * block on I/O and so must never run on the scheduler thread.
+ */
+final class CacheScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheScheduler.class);
+    private static final long COARSE_TICK_MILLIS = 5;
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = newScheduler();
+    private static final ExecutorService REFRESH_EXECUTOR =
+            Executors.newCachedThreadPool(daemonThreadFactory("cache-refresh"));
+
+    static final Ticker COARSE_TICKER = new CoarseTicker();
+
+    private CacheScheduler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Runs the task periodically for as long as the owner is reachable. Only a weak reference to the owner is kept,
+     * so short-lived caches (e.g. in tests) are not pinned by the shared scheduler.
+     */
+    static <T> void scheduleMaintenance(T owner, Consumer<T> task, long periodMillis) {
+        WeakReference<T> ownerReference = new WeakReference<>(owner);
+        ScheduledFuture<?>[] self = new ScheduledFuture<?>[1];
+        Runnable runnable = () -> {
+            T currentOwner = ownerReference.get();
+            if (currentOwner == null) {
+                self[0].cancel(false);
+                return;
+            }
+            try {
+                task.accept(currentOwner);
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; an exception escaping a periodic task would silently cancel it.
+                logger.error("Cache maintenance failed", e);
+            }
+        };
+        synchronized (self) {
+            self[0] = SCHEDULER.scheduleAtFixedRate(() -> {
+                synchronized (self) {
+                    runnable.run();
+                }
+            }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs a short, non-blocking task once after the delay. Cancelling the returned future removes the task from
+     * the scheduler's queue right away, so timeouts that are almost always cancelled do not pile up.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        return SCHEDULER.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    static Executor refreshExecutor() {
+        return REFRESH_EXECUTOR;
+    }
+
+    private static ScheduledThreadPoolExecutor newScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("cache-scheduler"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class CoarseTicker implements Ticker {
+        private volatile long now = System.currentTimeMillis();
+
+        CoarseTicker() {
+            SCHEDULER.scheduleAtFixedRate(() -> now = System.currentTimeMillis(),
+                    COARSE_TICK_MILLIS, COARSE_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long read() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Consecutive-failure circuit breaker for one upstream target.
+ * <p>
+ * Logic Explanation:
+ * - CLOSED: calls go through; {@code failureThreshold} transient failures in a row open the circuit.
+ * - OPEN: calls are rejected without reaching the upstream until {@code openDuration} has passed.
+ * - HALF_OPEN: up to {@code halfOpenCalls} trial calls go through at once; one success closes the circuit and one
+ *   failure opens it again for another {@code openDuration}.
+ * <p>
+ * Transitions are rare and calls are network-bound, so a monitor guards the state instead of lock-free counters.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDuration;
+    private final int halfOpenCalls;
+    private final Ticker ticker;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int trialCallsInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openDuration, int halfOpenCalls, Ticker ticker) {
+        if (failureThreshold < 1 || halfOpenCalls < 1 || openDuration < 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Asks to make one call. Every granted permission must be followed by exactly one of {@link #onSuccess} or
+     * {@link #onFailure}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && ticker.read() - openedAt >= openDuration) {
+            state = State.HALF_OPEN;
+            trialCallsInFlight = 0;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialCallsInFlight >= halfOpenCalls) {
+                    yield false;
+                }
+                trialCallsInFlight++;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            trialCallsInFlight = 0;
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = ticker.read();
+            trialCallsInFlight = 0;
+        }
+    }
+
+    public synchronized State state() {
+        return state == State.OPEN && ticker.read() - openedAt >= openDuration ? State.HALF_OPEN : state;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Time left until an open circuit lets a trial call through; 0 when it is not open.
+     */
+    public synchronized long retryAfterMillis() {
+        return state == State.OPEN ? Math.max(0, openDuration - (ticker.read() - openedAt)) : 0;
+    }
+}
@@ -0,0 +1,15 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Outcome of a conditional GET request.
+ *
+ * @param body        The parsed body, or {@code null} when the server answered 304 Not Modified.
+ * @param entityTag   The response's {@code ETag}, or {@code null} when the server sent none.
+ * @param notModified Whether the server confirmed the entity tag sent with the request is still current.
+ */
+public record ConditionalResponse<T>(T body, String entityTag, boolean notModified) {
+
+    public static <T> ConditionalResponse<T> notModified(String entityTag) {
+        return new ConditionalResponse<>(null, entityTag, true);
+    }
+}
@@ -0,0 +1,94 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Logic Explanation:
+ * Count-Min sketch estimating how often each key was accessed, used by the TinyLFU admission policy. Each long in
+ * the table packs sixteen 4-bit counters; a key maps to four counters chosen by four hash seeds and its frequency is
+ * the minimum of them. Once the number of increments reaches ten times the capacity, every counter is halved so
+ * that the sketch forgets old popularity (aging). The table is sized once, from the number of entries the cache is
+ * expected to hold, so frequencies gathered while the cache fills up are never discarded by a resize.
+
+ * Big-θ Analysis:
+ * - increment / frequency: θ(1).
+ * - reset: θ(table size), amortized θ(1) per increment.
+
+ * Not thread-safe; callers must hold the cache's eviction lock.
+ */
+final class FrequencySketch<E> {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAXIMUM_CAPACITY = 1 << 26;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * @param expectedEntries Number of keys the cache is expected to hold at its maximum weight.
+     */
+    FrequencySketch(long expectedEntries) {
+        int maximum = (int) Math.min(Math.max(expectedEntries, 16), MAXIMUM_CAPACITY);
+        this.table = new long[Integer.highestOneBit(maximum - 1) << 1];
+        this.tableMask = table.length - 1;
+        this.sampleSize = 10 * maximum;
+    }
+
+    int frequency(E element) {
+        int hash = spread(element.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(E element) {
+        int hash = spread(element.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (oddCounters >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int seedIndex) {
+        long indexHash = (hash + SEEDS[seedIndex]) * SEEDS[seedIndex];
+        indexHash += indexHash >>> 32;
+        return ((int) indexHash) & tableMask;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,81 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import looqbox.challenge.microservicepokeapi.model.HttpClientStats;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free request counters and a latency histogram with power-of-two millisecond buckets: bucket i counts
+ * latencies below 2^i ms, which is precise enough to tell a 20 ms call from a 2 s one at a fixed 40-slot cost.
+ */
+final class HttpClientMetrics {
+
+    private static final int BUCKETS = 40;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder http1Responses = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKETS);
+
+    long requestStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void responseReceived(HttpClient.Version version) {
+        (version == HttpClient.Version.HTTP_2 ? http2Responses : http1Responses).increment();
+    }
+
+    void requestFinished(long startNanos, boolean failed, boolean timedOut) {
+        long latency = System.nanoTime() - startNanos;
+        inFlight.decrementAndGet();
+        requests.increment();
+        if (failed) {
+            failures.increment();
+        }
+        if (timedOut) {
+            timeouts.increment();
+        }
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+        long millis = TimeUnit.NANOSECONDS.toMillis(latency);
+        latencyBuckets.incrementAndGet(Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(millis)));
+    }
+
+    HttpClientStats snapshot() {
+        long completed = requests.sum();
+        double mean = completed == 0 ? 0.0 : totalLatencyNanos.sum() / (double) completed / 1_000_000;
+        return new HttpClientStats(completed, failures.sum(), timeouts.sum(), inFlight.get(), http2Responses.sum(),
+                http1Responses.sum(), mean, TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()),
+                percentile(0.50), percentile(0.99));
+    }
+
+    private long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += latencyBuckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latencyBuckets.get(i);
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+}
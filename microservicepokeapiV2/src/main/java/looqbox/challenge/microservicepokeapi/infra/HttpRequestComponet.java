@@ -1,26 +1,216 @@
 package looqbox.challenge.microservicepokeapi.infra;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import looqbox.challenge.microservicepokeapi.exception.ApiRequestException;
+import looqbox.challenge.microservicepokeapi.model.HttpClientStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
 
 @Component
 public class HttpRequestComponet {
 
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ResilienceRegistry resilienceRegistry;
+    private final HttpClientMetrics metrics = new HttpClientMetrics();
+
+    /**
+     * Time allowed between sending the request and receiving the response headers.
+     */
+    @Value("${http.client.read-timeout-ms:5000}")
+    private long readTimeout = 5000;
 
+    /**
+     * Upper bound on the whole exchange, body included; a slow body transfer is cancelled once it runs past this.
+     */
+    @Value("${http.client.total-timeout-ms:15000}")
+    private long totalTimeout = 15000;
 
-    public HttpRequestComponet(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public HttpRequestComponet(HttpClient httpClient, ObjectMapper objectMapper, ResilienceRegistry resilienceRegistry) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.resilienceRegistry = resilienceRegistry;
     }
 
+    /**
+     * Sends a GET request asking for a gzip-compressed JSON body and deserializes it into {@code responseType}.
+     * Any transport error, timeout, non-2xx status or unreadable body is reported as an {@link ApiRequestException}.
+     * Calls go through the target's circuit breaker, retries and bulkhead (see {@link ResilienceRegistry}).
+     */
     public <T> ResponseEntity<T> sendGetRequest(String uri, Class<T> responseType) {
+        return resilienceRegistry.execute(uri, () -> sendGetRequestOnce(uri, responseType));
+    }
+
+    private <T> ResponseEntity<T> sendGetRequestOnce(String uri, Class<T> responseType) {
+        long start = metrics.requestStarted();
+        boolean failed = true;
+        boolean timedOut = false;
+        CompletableFuture<HttpResponse<byte[]>> future =
+                httpClient.sendAsync(newGetRequest(uri), HttpResponse.BodyHandlers.ofByteArray());
+        try {
+            HttpResponse<byte[]> response = future.get(totalTimeout, TimeUnit.MILLISECONDS);
+            HttpStatusCode status = checkStatus(uri, response);
+            T body = objectMapper.readValue(decode(response, new ByteArrayInputStream(response.body())), responseType);
+            failed = false;
+            return new ResponseEntity<>(body, status);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            future.cancel(true);
+            throw new ApiRequestException("Timed out fetching data from URI: " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ApiRequestException("Interrupted while fetching data from URI: " + uri, e);
+        } catch (ExecutionException e) {
+            timedOut = e.getCause() instanceof HttpTimeoutException;
+            throw new ApiRequestException("Failed to fetch data from URI: " + uri, e.getCause());
+        } catch (IOException e) {
+            throw new ApiRequestException("Failed to read response from URI: " + uri, e);
+        } finally {
+            metrics.requestFinished(start, failed, timedOut);
+        }
+    }
+
+    /**
+     * Sends a GET request and hands the JSON body to {@code reader} as a token stream while it is still arriving, so
+     * the body is never buffered whole. The total timeout keeps applying while the body is read: once it expires
+     * the stream is closed and the reader fails.
+     */
+    public <T> T streamGetRequest(String uri, JsonBodyReader<T> reader) {
+        return streamGetRequest(uri, null, reader).body();
+    }
+
+    /**
+     * Conditional variant of {@link #streamGetRequest(String, JsonBodyReader)}: sends {@code If-None-Match} with the
+     * given entity tag and, when the server answers 304 Not Modified, returns without reading any body.
+     *
+     * @param entityTag The {@code ETag} of the copy the caller already holds, or {@code null} to always get the body.
+     */
+    public <T> ConditionalResponse<T> streamGetRequest(String uri, String entityTag, JsonBodyReader<T> reader) {
+        return resilienceRegistry.execute(uri, () -> streamGetRequestOnce(uri, entityTag, reader));
+    }
+
+    private <T> ConditionalResponse<T> streamGetRequestOnce(String uri, String entityTag, JsonBodyReader<T> reader) {
+        long start = metrics.requestStarted();
+        boolean failed = true;
+        boolean timedOut = false;
+        HttpRequest request = entityTag == null ? newGetRequest(uri)
+                : HttpRequest.newBuilder(newGetRequest(uri), (name, value) -> true)
+                        .header("If-None-Match", entityTag)
+                        .build();
+        CompletableFuture<HttpResponse<InputStream>> future =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        ScheduledFuture<?> watchdog = null;
+        AtomicBoolean bodyTimedOut = new AtomicBoolean();
+        try {
+            HttpResponse<InputStream> response = future.get(totalTimeout, TimeUnit.MILLISECONDS);
+            try (InputStream body = response.body()) {
+                String responseTag = response.headers().firstValue("ETag").orElse(null);
+                if (entityTag != null && response.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                    metrics.responseReceived(response.version());
+                    failed = false;
+                    return ConditionalResponse.notModified(responseTag != null ? responseTag : entityTag);
+                }
+                checkStatus(uri, response);
+                long remaining = totalTimeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                // Flagged before closing: the reader can fail on the close before the watchdog task has returned.
+                watchdog = CacheScheduler.schedule(() -> {
+                    bodyTimedOut.set(true);
+                    closeQuietly(body);
+                }, Math.max(remaining, 0));
+                try (JsonParser parser = objectMapper.getFactory().createParser(decode(response, body))) {
+                    T result = reader.read(parser);
+                    failed = false;
+                    return new ConditionalResponse<>(result, responseTag, false);
+                }
+            }
+        } catch (TimeoutException e) {
+            timedOut = true;
+            future.cancel(true);
+            throw new ApiRequestException("Timed out fetching data from URI: " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ApiRequestException("Interrupted while fetching data from URI: " + uri, e);
+        } catch (ExecutionException e) {
+            timedOut = e.getCause() instanceof HttpTimeoutException;
+            throw new ApiRequestException("Failed to fetch data from URI: " + uri, e.getCause());
+        } catch (IOException e) {
+            timedOut = bodyTimedOut.get();
+            throw new ApiRequestException(timedOut ? "Timed out reading response from URI: " + uri
+                    : "Failed to read response from URI: " + uri, e);
+        } finally {
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+            metrics.requestFinished(start, failed, timedOut);
+        }
+    }
+
+    public HttpClientStats stats() {
+        return metrics.snapshot();
+    }
+
+    private HttpRequest newGetRequest(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofMillis(readTimeout))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private HttpStatusCode checkStatus(String uri, HttpResponse<?> response) {
+        metrics.responseReceived(response.version());
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (!status.is2xxSuccessful()) {
+            throw new ApiRequestException("Failed to fetch data from URI: " + uri + " (HTTP " + status.value() + ")",
+                    status.value());
+        }
+        return status;
+    }
+
+    private static InputStream decode(HttpResponse<?> response, InputStream body) throws IOException {
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        return gzipped ? new GZIPInputStream(body) : body;
+    }
+
+    private static void closeQuietly(InputStream stream) {
         try {
-            return restTemplate.getForEntity(uri, responseType);
-        } catch (Exception e) {
-            throw new ApiRequestException("Failed to fetch data from URI: " + uri);
+            stream.close();
+        } catch (IOException e) {
+            // Closing only unblocks the reader; there is nothing left to release.
         }
     }
 
+    /**
+     * Consumes a JSON response body from its token stream.
+     */
+    @FunctionalInterface
+    public interface JsonBodyReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
 }
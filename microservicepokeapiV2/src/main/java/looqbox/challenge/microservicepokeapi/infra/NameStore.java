@@ -0,0 +1,97 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only store of names packed as UTF-8 into one byte arena, with {@code offsets[i]..offsets[i + 1]} delimiting
+ * name i.
+ * <p>
+ * Logic Explanation:
+ * Names are encoded straight from the parser's character buffer, so ingesting a listing allocates no intermediate
+ * String or POJO per entry: two arrays grow geometrically and hold every name back to back.
+ * <p>
+ * Big-θ Analysis:
+ * - append: amortized θ(L) for a name of L chars.
+ * - name(i): θ(L), decoding one String.
+ * - Memory: θ(total bytes + n) ints, against roughly 40 bytes of String and array headers per name plus the
+ *   discarded fields when binding to objects.
+ */
+public final class NameStore {
+
+    private static final int INITIAL_NAMES = 256;
+    private static final int INITIAL_BYTES = INITIAL_NAMES * 12;
+
+    private byte[] arena = new byte[INITIAL_BYTES];
+    private int[] offsets = new int[INITIAL_NAMES + 1];
+    private int size;
+
+    public void append(char[] chars, int offset, int length) {
+        ensureArena(offsets[size] + length * 3);
+        int position = offsets[size];
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                arena[position++] = (byte) c;
+            } else if (c < 0x800) {
+                arena[position++] = (byte) (0xC0 | (c >> 6));
+                arena[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                arena[position++] = (byte) (0xF0 | (codePoint >> 18));
+                arena[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                arena[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                arena[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                arena[position++] = (byte) (0xE0 | (c >> 12));
+                arena[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                arena[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (size + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[++size] = position;
+    }
+
+    public void append(String name) {
+        append(name.toCharArray(), 0, name.length());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String name(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return new String(arena, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Bytes held by the arena and offsets, excluding spare capacity.
+     */
+    public long sizeInBytes() {
+        return offsets[size] + (size + 1L) * Integer.BYTES;
+    }
+
+    public List<Pokemon> toPokemons() {
+        List<Pokemon> pokemons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pokemons.add(new Pokemon(name(i)));
+        }
+        return pokemons;
+    }
+
+    private void ensureArena(int required) {
+        if (required > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(required, arena.length * 2));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Persists lists of Pokémon names to memory-mapped files, one file per cache key, so that a restarted service can
+ * serve the last known Pokédex before PokéAPI answers (or when it cannot be reached at all).
+
+ * File format (big-endian):
+ * - header:  magic "PKDX" (int), format version (int), name count (int), payload length (int),
+ *            written-at epoch millis (long), CRC32 of the payload (long).
+ * - payload: count + 1 offsets (int) into the name bytes, followed by the UTF-8 bytes of every name back to back.
+ * Files are written to a temporary file and atomically moved into place, so readers never see a partial file.
+ * A file with another magic, version, length or checksum is ignored.
+ */
+public class PokedexFileStore implements SecondLevelCache<String, List<Pokemon>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokedexFileStore.class);
+
+    static final int MAGIC = 0x504B4458;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final String FILE_EXTENSION = ".pkdx";
+
+    private final Path directory;
+
+    public PokedexFileStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Persisted<List<Pokemon>> read(String key) {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return reject(file, "unexpected size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                return reject(file, "unknown magic or format version");
+            }
+
+            int count = buffer.getInt(8);
+            int payloadLength = buffer.getInt(12);
+            if (count < 0 || payloadLength != size - HEADER_SIZE || 4L * (count + 1) > payloadLength) {
+                return reject(file, "inconsistent header");
+            }
+
+            ByteBuffer payload = buffer.slice(HEADER_SIZE, payloadLength);
+            CRC32 checksum = new CRC32();
+            checksum.update(payload.duplicate());
+            if (checksum.getValue() != buffer.getLong(24)) {
+                return reject(file, "checksum mismatch");
+            }
+            return new Persisted<>(decode(payload, count), buffer.getLong(16));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read Pokédex snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void write(String key, List<Pokemon> pokemons) {
+        int count = pokemons.size();
+        byte[][] names = new byte[count][];
+        int arenaLength = 0;
+        for (int i = 0; i < count; i++) {
+            names[i] = pokemons.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            arenaLength += names[i].length;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(4 * (count + 1) + arenaLength);
+        int offset = 0;
+        for (byte[] name : names) {
+            payload.putInt(offset);
+            offset += name.length;
+        }
+        payload.putInt(offset);
+        for (byte[] name : names) {
+            payload.put(name);
+        }
+        payload.flip();
+
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(count)
+                .putInt(payload.remaining())
+                .putLong(System.currentTimeMillis())
+                .putLong(checksum.getValue())
+                .flip();
+
+        Path file = resolve(key);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = {header, payload};
+                while (payload.hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temporaryFile = null;
+        } catch (IOException e) {
+            logger.warn("Could not write Pokédex snapshot {}", file, e);
+        } finally {
+            // A write that failed before the move would otherwise leave one more temporary file behind.
+            if (temporaryFile != null) {
+                deleteTemporaryFile(temporaryFile);
+            }
+        }
+    }
+
+    private static void deleteTemporaryFile(Path temporaryFile) {
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary Pokédex snapshot {}", temporaryFile, e);
+        }
+    }
+
+    private List<Pokemon> decode(ByteBuffer payload, int count) {
+        int arenaStart = 4 * (count + 1);
+        int arenaLength = payload.limit() - arenaStart;
+        List<Pokemon> pokemons = new ArrayList<>(count);
+        int start = payload.getInt(0);
+        for (int i = 0; i < count; i++) {
+            int end = payload.getInt(4 * (i + 1));
+            if (start < 0 || end < start || end > arenaLength) {
+                throw new IllegalStateException("Invalid name offsets at index " + i);
+            }
+            byte[] name = new byte[end - start];
+            payload.get(arenaStart + start, name);
+            pokemons.add(new Pokemon(new String(name, StandardCharsets.UTF_8)));
+            start = end;
+        }
+        return pokemons;
+    }
+
+    private Persisted<List<Pokemon>> reject(Path file, String reason) {
+        logger.warn("Ignoring Pokédex snapshot {}: {}", file, reason);
+        return null;
+    }
+
+    private Path resolve(String key) {
+        return directory.resolve(key.replaceAll("[^A-Za-z0-9_-]", "_") + FILE_EXTENSION);
+    }
+}
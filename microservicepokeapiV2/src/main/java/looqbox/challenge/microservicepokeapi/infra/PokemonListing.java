@@ -0,0 +1,10 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * One page of the PokéAPI listing, reduced to what the service keeps.
+ *
+ * @param count Total number of Pokémon upstream, as reported by the page; -1 when the field is absent.
+ * @param names Names on this page in listing order, or {@code null} when the page has no {@code results} array.
+ */
+public record PokemonListing(int count, NameStore names) {
+}
@@ -0,0 +1,72 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Pulls Pokémon names out of a PokéAPI listing with the Jackson token stream.
+ * <p>
+ * Logic Explanation:
+ * The parser walks the top-level object once. {@code count} is read as an int, each {@code results[].name} is copied
+ * from the parser's character buffer into a {@link NameStore}, and every other value ({@code url}, {@code next},
+ * {@code previous}, unknown fields) is skipped with {@code skipChildren} without being materialized.
+ * <p>
+ * Big-θ Analysis:
+ * - Time: θ(B) for a body of B bytes, a single pass.
+ * - Memory: θ(names) beyond the parser's fixed buffers; the body itself is streamed, never held whole.
+ * <p>
+ * Advantages:
+ * - No POJO, String or url allocation per entry, so refresh peak heap and GC pressure stay flat.
+ * <p>
+ * Disadvantages:
+ * - Tied to the listing's shape; fields the service starts needing must be added here by hand.
+ */
+public final class PokemonListingReader {
+
+    private PokemonListingReader() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static PokemonListing read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at the root of the PokéAPI listing");
+        }
+        int count = -1;
+        NameStore names = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("count".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                count = parser.getIntValue();
+            } else if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                names = readResults(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new PokemonListing(count, names);
+    }
+
+    private static NameStore readResults(JsonParser parser) throws IOException {
+        NameStore names = new NameStore();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("name".equals(field) && value == JsonToken.VALUE_STRING) {
+                    names.append(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,40 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lossy ring buffer that records cache hits without taking a lock. Reads are replayed against the eviction policy
+ * in batches by whichever thread holds the eviction lock; when the buffer wraps before a drain, the oldest
+ * recorded reads are simply overwritten, which only makes the frequency estimates slightly less precise.
+ */
+final class ReadBuffer<E> {
+
+    private static final int SIZE = 128;
+    private static final int MASK = SIZE - 1;
+    private static final int DRAIN_THRESHOLD = 32;
+
+    private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(SIZE);
+    private final AtomicLong writeCounter = new AtomicLong();
+
+    /**
+     * Records a read.
+     *
+     * @return Whether enough reads have accumulated that the caller should try to drain the buffer.
+     */
+    boolean offer(E element) {
+        long index = writeCounter.getAndIncrement();
+        buffer.lazySet((int) (index & MASK), element);
+        return (index & (DRAIN_THRESHOLD - 1)) == DRAIN_THRESHOLD - 1;
+    }
+
+    void drainTo(Consumer<E> consumer) {
+        for (int i = 0; i < SIZE; i++) {
+            E element = buffer.getAndSet(i, null);
+            if (element != null) {
+                consumer.accept(element);
+            }
+        }
+    }
+}
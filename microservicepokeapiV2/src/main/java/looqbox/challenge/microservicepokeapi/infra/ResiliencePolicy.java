@@ -0,0 +1,11 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Settings of the circuit breaker, retries and bulkhead guarding one upstream target.
+ */
+public record ResiliencePolicy(int failureThreshold, long openDurationMillis, int halfOpenCalls, int maxAttempts,
+                               long retryBaseDelayMillis, long retryMaxDelayMillis, int maxConcurrentCalls,
+                               long maxWaitMillis) {
+
+    public static final ResiliencePolicy DEFAULT = new ResiliencePolicy(5, 30_000, 1, 3, 100, 2_000, 8, 1_000);
+}
@@ -0,0 +1,170 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import looqbox.challenge.microservicepokeapi.exception.ApiRequestException;
+import looqbox.challenge.microservicepokeapi.exception.BulkheadFullException;
+import looqbox.challenge.microservicepokeapi.exception.CircuitOpenException;
+import looqbox.challenge.microservicepokeapi.model.ResilienceStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Guards outbound calls with one circuit breaker, retry policy and bulkhead per upstream target (scheme and
+ * authority of the URI).
+ * <p>
+ * Settings are read from {@code http.resilience.<setting>}, and can be overridden for one target with
+ * {@code http.resilience.targets.<host>.<setting>}, e.g. {@code http.resilience.targets.pokeapi.co.max-attempts}.
+ */
+@Component
+public class ResilienceRegistry {
+
+    private static final String PREFIX = "http.resilience.";
+
+    private final Function<String, ResiliencePolicy> policies;
+    private final Ticker ticker;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResilienceRegistry(Environment environment) {
+        this(host -> resolvePolicy(environment, host), Ticker.system());
+    }
+
+    public ResilienceRegistry(Function<String, ResiliencePolicy> policies, Ticker ticker) {
+        this.policies = policies;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Runs {@code call} against the target of {@code uri}. Transient failures (see
+     * {@link ApiRequestException#isTransient}) are retried with jittered backoff while attempts remain and the
+     * circuit lets them through; any other outcome is returned or thrown as is.
+     *
+     * @throws CircuitOpenException   If the circuit is open, without calling the upstream.
+     * @throws BulkheadFullException If no concurrency slot frees up within the configured wait.
+     */
+    public <T> T execute(String uri, Supplier<T> call) {
+        Target target = targets.computeIfAbsent(targetOf(uri), this::newTarget);
+        long delay = 0;
+        for (int attempt = 1; ; attempt++) {
+            acquire(target, uri);
+            try {
+                T result = call.get();
+                target.circuitBreaker.onSuccess();
+                return result;
+            } catch (ApiRequestException e) {
+                if (!e.isTransient()) {
+                    target.circuitBreaker.onSuccess();
+                    throw e;
+                }
+                target.failures.increment();
+                target.circuitBreaker.onFailure();
+                if (attempt >= target.retryBackoff.maxAttempts()) {
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                target.circuitBreaker.onFailure();
+                throw e;
+            } finally {
+                target.bulkhead.release();
+            }
+
+            delay = target.retryBackoff.nextDelay(delay);
+            target.retries.increment();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiRequestException("Interrupted while waiting to retry URI: " + uri, e);
+            }
+        }
+    }
+
+    public List<ResilienceStats> stats() {
+        return targets.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparing(ResilienceStats::target))
+                .toList();
+    }
+
+    private void acquire(Target target, String uri) {
+        try {
+            if (!target.bulkhead.tryAcquire()) {
+                target.rejectedByBulkhead.increment();
+                throw new BulkheadFullException("Too many concurrent requests to URI: " + uri);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiRequestException("Interrupted while waiting to call URI: " + uri, e);
+        }
+        if (!target.circuitBreaker.tryAcquirePermission()) {
+            target.bulkhead.release();
+            target.rejectedByCircuit.increment();
+            throw new CircuitOpenException("Circuit open for URI: " + uri, target.circuitBreaker.retryAfterMillis());
+        }
+        target.calls.increment();
+    }
+
+    private Target newTarget(String target) {
+        ResiliencePolicy policy = policies.apply(URI.create(target).getHost());
+        return new Target(
+                new CircuitBreaker(policy.failureThreshold(), policy.openDurationMillis(), policy.halfOpenCalls(), ticker),
+                new RetryBackoff(policy.maxAttempts(), policy.retryBaseDelayMillis(), policy.retryMaxDelayMillis()),
+                new Bulkhead(policy.maxConcurrentCalls(), policy.maxWaitMillis()));
+    }
+
+    private static String targetOf(String uri) {
+        URI parsed = URI.create(uri);
+        return parsed.getScheme() + "://" + parsed.getRawAuthority();
+    }
+
+    private static ResiliencePolicy resolvePolicy(Environment environment, String host) {
+        ResiliencePolicy defaults = ResiliencePolicy.DEFAULT;
+        return new ResiliencePolicy(
+                setting(environment, host, "failure-threshold", Integer.class, defaults.failureThreshold()),
+                setting(environment, host, "open-duration-ms", Long.class, defaults.openDurationMillis()),
+                setting(environment, host, "half-open-calls", Integer.class, defaults.halfOpenCalls()),
+                setting(environment, host, "max-attempts", Integer.class, defaults.maxAttempts()),
+                setting(environment, host, "retry-base-delay-ms", Long.class, defaults.retryBaseDelayMillis()),
+                setting(environment, host, "retry-max-delay-ms", Long.class, defaults.retryMaxDelayMillis()),
+                setting(environment, host, "max-concurrent-calls", Integer.class, defaults.maxConcurrentCalls()),
+                setting(environment, host, "max-wait-ms", Long.class, defaults.maxWaitMillis()));
+    }
+
+    private static <T> T setting(Environment environment, String host, String name, Class<T> type, T defaultValue) {
+        T shared = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + "targets." + host + "." + name, type, shared);
+    }
+
+    private static final class Target {
+        final CircuitBreaker circuitBreaker;
+        final RetryBackoff retryBackoff;
+        final Bulkhead bulkhead;
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder rejectedByCircuit = new LongAdder();
+        final LongAdder rejectedByBulkhead = new LongAdder();
+
+        Target(CircuitBreaker circuitBreaker, RetryBackoff retryBackoff, Bulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.retryBackoff = retryBackoff;
+            this.bulkhead = bulkhead;
+        }
+
+        ResilienceStats stats(String name) {
+            return new ResilienceStats(name, circuitBreaker.state().name(), circuitBreaker.consecutiveFailures(),
+                    circuitBreaker.retryAfterMillis(), calls.sum(), failures.sum(), retries.sum(),
+                    rejectedByCircuit.sum(), rejectedByBulkhead.sum(), bulkhead.callsInFlight(),
+                    bulkhead.maxConcurrentCalls());
+        }
+    }
+}
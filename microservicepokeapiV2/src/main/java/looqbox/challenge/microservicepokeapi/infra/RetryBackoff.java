@@ -0,0 +1,38 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded retries spaced by decorrelated jitter: {@code delay = min(maxDelay, random(baseDelay, previousDelay * 3))}.
+ * <p>
+ * Advantages:
+ * - Delays grow roughly exponentially but stay spread out, so replicas that failed together do not retry in lockstep
+ *   against a recovering upstream.
+ */
+public final class RetryBackoff {
+
+    private final int maxAttempts;
+    private final long baseDelay;
+    private final long maxDelay;
+
+    public RetryBackoff(int maxAttempts, long baseDelay, long maxDelay) {
+        if (maxAttempts < 1 || baseDelay < 0 || maxDelay < baseDelay) {
+            throw new IllegalArgumentException("Invalid retry settings.");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param previousDelay The delay before the previous retry, or 0 before the first one.
+     */
+    public long nextDelay(long previousDelay) {
+        long upper = Math.min(maxDelay, Math.max(baseDelay, previousDelay) * 3);
+        return upper <= baseDelay ? baseDelay : ThreadLocalRandom.current().nextLong(baseDelay, upper + 1);
+    }
+}
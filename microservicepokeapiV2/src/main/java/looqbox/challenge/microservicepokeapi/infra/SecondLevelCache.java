@@ -0,0 +1,22 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Persistent tier behind a {@link CacheComponet}. It is read when the in-memory cache has nothing for a key (e.g.
+ * right after a restart) and written in the background after every successful load.
+ */
+public interface SecondLevelCache<K, V> {
+
+    /**
+     * @return The persisted value and when it was written, or null if there is none or it cannot be read.
+     */
+    Persisted<V> read(K key);
+
+    void write(K key, V value);
+
+    /**
+     * @param writtenAt Wall-clock time of the write, in epoch milliseconds. The cache ages the restored value from it,
+     *                  so an old snapshot is as stale, or as expired, as it would have been had it stayed in memory.
+     */
+    record Persisted<V>(V value, long writtenAt) {
+    }
+}
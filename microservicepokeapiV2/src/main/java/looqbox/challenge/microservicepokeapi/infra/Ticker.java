@@ -0,0 +1,25 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Time source of a {@link CacheComponet}, in milliseconds. Injectable so tests can drive expiry deterministically.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    long read();
+
+    /**
+     * Exact wall-clock time.
+     */
+    static Ticker system() {
+        return System::currentTimeMillis;
+    }
+
+    /**
+     * Wall-clock time refreshed every few milliseconds by the shared cache scheduler; reading it is a volatile load.
+     * Expiry on the cache's read path only needs this resolution.
+     */
+    static Ticker coarse() {
+        return CacheScheduler.COARSE_TICKER;
+    }
+}
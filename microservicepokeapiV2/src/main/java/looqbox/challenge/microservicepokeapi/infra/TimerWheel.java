@@ -0,0 +1,176 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logic Explanation:
+ * Hierarchical timing wheel that tracks one deadline per key. Each level is a circular array of buckets, where a
+ * bucket holds the timers whose deadline falls in one tick of that level:
+ * - level 0: 64 buckets of ~1 second, level 1: 64 buckets of ~1 minute, level 2: 32 buckets of ~1 hour,
+ *   level 3: 4 buckets of ~18 hours, level 4: a single overflow bucket. Each level spans its bucket count times
+ *   the tick of the level below, so a level is only used for deadlines its buckets can hold without wrapping.
+ * A timer is placed in the finest level whose range covers its deadline. As time advances, the buckets whose tick
+ * has passed are emptied: due timers are returned and the rest cascade down into finer levels.
+
+ * Big-θ Analysis:
+ * - schedule / cancel: θ(1).
+ * - advance: θ(1) amortized per timer (each timer cascades at most once per level), instead of a θ(n) sweep.
+
+ * Times are in milliseconds. Not thread-safe; callers must hold the cache's eviction lock.
+ */
+final class TimerWheel<K> {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            1L << 10, // 1.02s
+            1L << 16, // 1.09m
+            1L << 22, // 1.17h
+            1L << 26, // 18.6h
+            1L << 28, // 3.1d
+            1L << 28,
+    };
+    private static final int[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4]),
+    };
+
+    private final Timer<K>[][] wheel;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private long time;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long now) {
+        this.time = now;
+        this.wheel = new Timer[BUCKETS.length][];
+        for (int level = 0; level < BUCKETS.length; level++) {
+            wheel[level] = new Timer[BUCKETS[level]];
+            for (int bucket = 0; bucket < BUCKETS[level]; bucket++) {
+                wheel[level][bucket] = Timer.sentinel();
+            }
+        }
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    /**
+     * Sets (or moves) the deadline of a key.
+     */
+    void schedule(K key, long deadline) {
+        Timer<K> timer = timers.get(key);
+        if (timer == null) {
+            timer = new Timer<>(key);
+            timers.put(key, timer);
+        } else {
+            timer.unlink();
+        }
+        timer.deadline = deadline;
+        link(timer);
+    }
+
+    void cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer != null) {
+            timer.unlink();
+        }
+    }
+
+    /**
+     * Moves the wheel to the given time.
+     *
+     * @return The keys whose deadline has passed; they are no longer scheduled.
+     */
+    List<K> advance(long now) {
+        List<K> due = new ArrayList<>();
+        long previous = time;
+        time = now;
+        for (int level = 0; level < SHIFT.length; level++) {
+            long previousTicks = previous >>> SHIFT[level];
+            long currentTicks = now >>> SHIFT[level];
+            if (currentTicks - previousTicks <= 0) {
+                break;
+            }
+            expire(level, previousTicks, currentTicks - previousTicks, due);
+        }
+        return due;
+    }
+
+    private void expire(int level, long previousTicks, long delta, List<K> due) {
+        Timer<K>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Timer<K> sentinel = buckets[i & mask];
+            Timer<K> timer = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (timer != sentinel) {
+                Timer<K> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                if (timer.deadline <= time) {
+                    timers.remove(timer.key);
+                    due.add(timer.key);
+                } else {
+                    link(timer);
+                }
+                timer = next;
+            }
+        }
+    }
+
+    private void link(Timer<K> timer) {
+        Timer<K> sentinel = findBucket(Math.max(timer.deadline, time));
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+    }
+
+    private Timer<K> findBucket(long deadline) {
+        long duration = deadline - time;
+        int lastLevel = wheel.length - 1;
+        for (int level = 0; level < lastLevel; level++) {
+            if (duration < SPANS[level + 1]) {
+                long ticks = deadline >>> SHIFT[level];
+                return wheel[level][(int) (ticks & (wheel[level].length - 1))];
+            }
+        }
+        return wheel[lastLevel][0];
+    }
+
+    private static final class Timer<K> {
+        final K key;
+        long deadline;
+        Timer<K> prev;
+        Timer<K> next;
+
+        Timer(K key) {
+            this.key = key;
+        }
+
+        static <K> Timer<K> sentinel() {
+            Timer<K> sentinel = new Timer<>(null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+/**
+ * Computes the relative weight of a cache entry, counted against {@link CacheComponet}'s maximum weight.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * @return A non-negative weight, e.g. the estimated number of bytes the entry retains.
+     */
+    int weigh(K key, V value);
+
+    /**
+     * Every entry weighs 1, so the maximum weight becomes a maximum number of entries.
+     */
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
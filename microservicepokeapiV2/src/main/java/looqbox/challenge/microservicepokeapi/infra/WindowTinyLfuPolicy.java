@@ -0,0 +1,249 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logic Explanation:
+ * Window TinyLFU eviction policy, tracking keys and weights for a bounded {@link CacheComponet}.
+ * - New entries enter a small LRU admission window (1% of the maximum weight) so that bursts of new keys
+ *   can build up frequency before competing for space.
+ * - Entries leaving the window become candidates for the main space, a segmented LRU made of a probation
+ *   segment and a protected segment (80% of the main space). A hit in probation promotes the entry to protected;
+ *   protected overflow is demoted back to probation.
+ * - When the cache is over its maximum weight, the candidate is admitted only if the frequency sketch estimates
+ *   it was accessed more often than the probation victim (the least recently used entry); otherwise the candidate
+ *   itself is evicted. This keeps one-hit wonders from flushing popular entries.
+
+ * Big-θ Analysis:
+ * - recordAccess / remove: θ(1).
+ * - recordWrite: θ(1) amortized, plus θ(e) for the e entries it evicts.
+
+ * Not thread-safe; callers must hold the cache's eviction lock.
+ */
+final class WindowTinyLfuPolicy<K> {
+
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.80;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private final FrequencySketch<K> sketch;
+    private final AccessOrderQueue<K> window = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K> probation = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K> protectedQueue = new AccessOrderQueue<>();
+
+    private long windowWeight;
+    private long protectedWeight;
+    private long totalWeight;
+
+    /**
+     * @param expectedEntries Number of keys expected at the maximum weight, which sizes the frequency sketch.
+     */
+    WindowTinyLfuPolicy(long maximumWeight, long expectedEntries) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive.");
+        }
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("Expected entries must be positive.");
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_PERCENT));
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_PERCENT);
+        this.sketch = new FrequencySketch<>(expectedEntries);
+    }
+
+    long weightedSize() {
+        return totalWeight;
+    }
+
+    void recordAccess(K key) {
+        sketch.increment(key);
+        Node<K> node = nodes.get(key);
+        if (node != null) {
+            onHit(node);
+        }
+    }
+
+    /**
+     * Adds or re-weighs a key and evicts until the cache fits its maximum weight again.
+     *
+     * @return The evicted keys, which may include the written key itself if it was not admitted.
+     */
+    List<K> recordWrite(K key, int weight) {
+        sketch.increment(key);
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key, weight, Segment.WINDOW);
+            nodes.put(key, node);
+            window.addLast(node);
+            windowWeight += weight;
+            totalWeight += weight;
+        } else {
+            int delta = weight - node.weight;
+            node.weight = weight;
+            totalWeight += delta;
+            if (node.segment == Segment.WINDOW) {
+                windowWeight += delta;
+            } else if (node.segment == Segment.PROTECTED) {
+                protectedWeight += delta;
+            }
+            onHit(node);
+        }
+        return evict();
+    }
+
+    void remove(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    private void onHit(Node<K> node) {
+        switch (node.segment) {
+            case WINDOW -> window.moveToBack(node);
+            case PROTECTED -> protectedQueue.moveToBack(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.segment = Segment.PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > protectedMaximum && protectedQueue.first != protectedQueue.last) {
+                    Node<K> demoted = protectedQueue.first;
+                    protectedQueue.remove(demoted);
+                    protectedWeight -= demoted.weight;
+                    demoted.segment = Segment.PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+        }
+    }
+
+    private List<K> evict() {
+        // Entries pushed out of the window join the tail of probation; the first of them starts the candidate run.
+        Node<K> candidate = null;
+        while (windowWeight > windowMaximum && window.first != null) {
+            Node<K> node = window.first;
+            window.remove(node);
+            windowWeight -= node.weight;
+            node.segment = Segment.PROBATION;
+            probation.addLast(node);
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+
+        List<K> evicted = new ArrayList<>();
+        Node<K> victim = probation.first;
+        while (totalWeight > maximumWeight) {
+            if (candidate == null) {
+                // No new candidates: shrink from probation first, then protected, then the window.
+                Node<K> node = victim != null ? victim
+                        : protectedQueue.first != null ? protectedQueue.first : window.first;
+                victim = victim != null ? victim.next : null;
+                evict(node, evicted);
+            } else if (victim == null || victim == candidate || candidate.weight > maximumWeight) {
+                Node<K> next = candidate.next;
+                if (victim == candidate) {
+                    victim = next;
+                }
+                evict(candidate, evicted);
+                candidate = next;
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                Node<K> next = victim.next;
+                evict(victim, evicted);
+                victim = next;
+            } else {
+                Node<K> next = candidate.next;
+                evict(candidate, evicted);
+                candidate = next;
+            }
+        }
+        return evicted;
+    }
+
+    private void evict(Node<K> node, List<K> evicted) {
+        nodes.remove(node.key);
+        unlink(node);
+        evicted.add(node.key);
+    }
+
+    private void unlink(Node<K> node) {
+        totalWeight -= node.weight;
+        switch (node.segment) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> {
+                protectedQueue.remove(node);
+                protectedWeight -= node.weight;
+            }
+        }
+    }
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<K> {
+        final K key;
+        int weight;
+        Segment segment;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key, int weight, Segment segment) {
+            this.key = key;
+            this.weight = weight;
+            this.segment = segment;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list ordered from least (first) to most (last) recently used.
+     */
+    private static final class AccessOrderQueue<K> {
+        Node<K> first;
+        Node<K> last;
+
+        void addLast(Node<K> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node<K> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
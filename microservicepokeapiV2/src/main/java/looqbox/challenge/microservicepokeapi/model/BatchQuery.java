@@ -0,0 +1,11 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+/**
+ * One search of a batch, with the parameters {@code GET /pokemons} takes.
+ *
+ * @param query Text the names must contain (case insensitive), or {@code null} for every name.
+ * @param sort  Sort type, or {@code null} for alphabetical.
+ * @param limit Maximum number of results, or {@code null} for all of them.
+ */
+public record BatchQuery(String query, String sort, Integer limit) {
+}
@@ -0,0 +1,11 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+import java.util.List;
+
+/**
+ * The {@code POST /pokemons/batch} body.
+ *
+ * @param queries The searches to run, answered in the same order.
+ */
+public record BatchRequest(List<BatchQuery> queries) {
+}
@@ -0,0 +1,10 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+import java.util.List;
+
+/**
+ * The {@code POST /pokemons/batch} response: one result per query, in request order. A result carries a
+ * {@code nextCursor} when its limit cut it short, which pages on through {@code GET /pokemons}.
+ */
+public record BatchResult(List<SimplePokedexResult> results) {
+}
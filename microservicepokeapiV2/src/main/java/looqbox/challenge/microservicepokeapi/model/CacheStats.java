@@ -0,0 +1,24 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+/**
+ * Point-in-time counters of a {@code CacheComponet}.
+ *
+ * @param size            Number of entries currently held, including expired ones not yet cleaned up.
+ * @param weightedSize    Total weight of the entries held (equal to size when the cache is unbounded).
+ * @param maximumWeight   Configured maximum weight, or Long.MAX_VALUE when the cache is unbounded.
+ * @param hits            Reads answered from the cache, stale reads included.
+ * @param misses          Reads that found no usable value.
+ * @param evictions       Entries removed by the size policy (expiry is not counted).
+ * @param coalescedLoads  Calls that missed while a load for the same key was in flight and waited on it instead.
+ * @param staleHits       Reads answered with a value past its soft TTL while a refresh ran in the background.
+ * @param refreshes       Background refreshes started, either by stale reads or by the refresh-ahead scheduler.
+ * @param failedRefreshes Reloads that failed and fell back to the last good value.
+ */
+public record CacheStats(int size, long weightedSize, long maximumWeight, long hits, long misses, long evictions,
+                         long coalescedLoads, long staleHits, long refreshes, long failedRefreshes) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,22 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+/**
+ * A response body serialized once and served as-is.
+ *
+ * @param json     UTF-8 encoded JSON body.
+ * @param gzipJson Gzip-compressed copy of {@code json}, or {@code null} when the body is too small to benefit.
+ * @param etag     Strong entity tag of the identity encoding, already quoted.
+ */
+public record EncodedResponse(byte[] json, byte[] gzipJson, String etag) {
+
+    public boolean hasGzip() {
+        return gzipJson != null;
+    }
+
+    /**
+     * Strong ETags must differ between encodings of the same resource, so gzip-capable clients get their own tag.
+     */
+    public static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+}
@@ -0,0 +1,20 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+/**
+ * Point-in-time counters of the outbound HTTP client.
+ *
+ * @param requests          Requests completed, successfully or not.
+ * @param failures          Requests that failed: connection errors, non-2xx statuses, unreadable bodies, timeouts.
+ * @param timeouts          Requests abandoned because they exceeded the total timeout.
+ * @param inFlight          Requests currently waiting on a response.
+ * @param http2Responses    Responses received over HTTP/2.
+ * @param http1Responses    Responses received over HTTP/1.1, e.g. when the server declined HTTP/2.
+ * @param meanLatencyMillis Mean time from sending a request to having its whole body.
+ * @param maxLatencyMillis  Slowest request observed.
+ * @param p50LatencyMillis  Median latency, as the upper bound of its power-of-two bucket.
+ * @param p99LatencyMillis  99th percentile latency, as the upper bound of its power-of-two bucket.
+ */
+public record HttpClientStats(long requests, long failures, long timeouts, int inFlight, long http2Responses,
+                              long http1Responses, double meanLatencyMillis, long maxLatencyMillis,
+                              long p50LatencyMillis, long p99LatencyMillis) {
+}
@@ -0,0 +1,44 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+import looqbox.challenge.microservicepokeapi.exception.InvalidPageRequestException;
+
+/**
+ * The paging parameters of a request.
+ *
+ * @param limit  Maximum number of results, or {@code null} for all of them.
+ * @param offset Results to skip, counted from the start or from the cursor.
+ * @param cursor Opaque position returned as {@code nextCursor} by a previous page, or {@code null}.
+ */
+public record PageQuery(Integer limit, int offset, String cursor) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public static final PageQuery UNPAGED = new PageQuery(null, 0, null);
+
+    public PageQuery {
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (offset < 0) {
+            throw new InvalidPageRequestException("offset cannot be negative");
+        }
+        if (cursor != null && cursor.isBlank()) {
+            cursor = null;
+        }
+    }
+
+    public boolean isUnpaged() {
+        return limit == null && offset == 0 && cursor == null;
+    }
+
+    public int effectiveLimit() {
+        return limit == null ? Integer.MAX_VALUE : limit;
+    }
+
+    /**
+     * A stable text form of the parameters, used to tell the cached responses of different pages apart.
+     */
+    public String describe() {
+        return "limit=" + (limit == null ? "" : limit) + "&offset=" + offset + "&cursor=" + (cursor == null ? "" : cursor);
+    }
+}
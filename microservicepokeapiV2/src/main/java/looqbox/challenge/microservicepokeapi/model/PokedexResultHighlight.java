@@ -9,6 +9,8 @@ import java.util.List;
 public class PokedexResultHighlight {
 
     private List<Pokemon> results;
+    private String nextCursor;
+    private Integer nextOffset;
 
     public PokedexResultHighlight() {
     }
@@ -17,6 +19,17 @@ public class PokedexResultHighlight {
         this.results = results;
     }
 
+    public PokedexResultHighlight(List<Pokemon> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public PokedexResultHighlight(List<Pokemon> results, String nextCursor, Integer nextOffset) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+        this.nextOffset = nextOffset;
+    }
+
 
 
     public List<Pokemon> getResults() {
@@ -27,4 +40,19 @@ public class PokedexResultHighlight {
         this.results = results;
     }
 
-}
\ No newline at end of file
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(Integer nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+}
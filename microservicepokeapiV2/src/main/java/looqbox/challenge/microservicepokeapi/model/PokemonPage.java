@@ -0,0 +1,12 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+import java.util.List;
+
+/**
+ * One page of search results.
+ *
+ * @param pokemons   The results of the page, in sort order.
+ * @param nextCursor Cursor of the following page, or {@code null} when this page is the last one.
+ */
+public record PokemonPage(List<Pokemon> pokemons, String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+/**
+ * State of the resilience layer guarding one upstream target.
+ *
+ * @param target              Scheme and authority of the upstream, e.g. {@code https://pokeapi.co}.
+ * @param circuitState        CLOSED, OPEN or HALF_OPEN.
+ * @param consecutiveFailures Transient failures since the last success.
+ * @param retryAfterMillis    Time until an open circuit lets a trial call through; 0 when it is not open.
+ * @param calls               Attempts that reached the upstream.
+ * @param failures            Attempts that failed transiently.
+ * @param retries             Attempts made after a failed one.
+ * @param rejectedByCircuit   Calls turned away because the circuit was open.
+ * @param rejectedByBulkhead  Calls turned away because no concurrency slot freed up in time.
+ * @param callsInFlight       Calls currently holding a bulkhead slot.
+ * @param maxConcurrentCalls  Size of the bulkhead.
+ */
+public record ResilienceStats(String target, String circuitState, int consecutiveFailures, long retryAfterMillis,
+                              long calls, long failures, long retries, long rejectedByCircuit,
+                              long rejectedByBulkhead, int callsInFlight, int maxConcurrentCalls) {
+}
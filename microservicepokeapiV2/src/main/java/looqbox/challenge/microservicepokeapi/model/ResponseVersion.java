@@ -0,0 +1,10 @@
+package looqbox.challenge.microservicepokeapi.model;
+
+/**
+ * HTTP validators of one response, known before the response body is computed.
+ *
+ * @param etag         Strong entity tag, already quoted.
+ * @param lastModified Epoch milliseconds, truncated to whole seconds.
+ */
+public record ResponseVersion(String etag, long lastModified) {
+}
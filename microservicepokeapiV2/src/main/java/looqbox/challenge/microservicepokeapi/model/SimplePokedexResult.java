@@ -1,14 +1,31 @@
 package looqbox.challenge.microservicepokeapi.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class SimplePokedexResult {
     private List<String> result;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer nextOffset;
 
     public SimplePokedexResult(List<String> result) {
         this.result = result;
     }
 
+    public SimplePokedexResult(List<String> result, String nextCursor) {
+        this.result = result;
+        this.nextCursor = nextCursor;
+    }
+
+    public SimplePokedexResult(List<String> result, String nextCursor, Integer nextOffset) {
+        this.result = result;
+        this.nextCursor = nextCursor;
+        this.nextOffset = nextOffset;
+    }
+
     public List<String> getResult() {
         return result;
     }
@@ -17,4 +34,19 @@ public class SimplePokedexResult {
         this.result = result;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(Integer nextOffset) {
+        this.nextOffset = nextOffset;
+    }
 }
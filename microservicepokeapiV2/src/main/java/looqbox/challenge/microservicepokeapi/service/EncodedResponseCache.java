@@ -0,0 +1,70 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import looqbox.challenge.microservicepokeapi.exception.ResponseEncodingException;
+import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.model.CacheStats;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps fully serialized response bodies, so hot requests skip Jackson and compression entirely.
+ * <p>
+ * The backing cache is bounded by weight and admits entries through W-TinyLFU, so besides the unfiltered listings
+ * only the most frequently requested queries stay resident. Bodies are keyed by their strong entity tag (see
+ * {@link PokedexSnapshot#entityTag}), which already covers the data, view, sort and query they were built from.
+ */
+@Component
+public class EncodedResponseCache {
+
+    private static final long RESPONSE_TTL = 5L * 60 * 1000;
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final CacheComponet<String, EncodedResponse> cache;
+
+    public EncodedResponseCache(ObjectMapper objectMapper, CacheComponet<String, EncodedResponse> cache) {
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the encoded body for a response, serializing the payload only on a miss.
+     *
+     * @param etag Strong entity tag of the response, already quoted.
+     */
+    public EncodedResponse getOrEncode(String etag, Supplier<?> payload) {
+        return cache.getOrLoad(etag, () -> encode(etag, payload.get()), RESPONSE_TTL);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    EncodedResponse encode(String etag, Object payload) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException ex) {
+            throw new ResponseEncodingException("Failed to serialize the response body", ex);
+        }
+        byte[] gzipJson = json.length >= MIN_GZIP_BYTES ? gzip(json) : null;
+        return new EncodedResponse(json, gzipJson, etag);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(buffer)) {
+            gzipStream.write(bytes);
+        } catch (IOException ex) {
+            throw new ResponseEncodingException("Failed to compress the response body", ex);
+        }
+        return buffer.toByteArray();
+    }
+}
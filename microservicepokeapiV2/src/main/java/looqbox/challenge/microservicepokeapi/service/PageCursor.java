@@ -0,0 +1,35 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import looqbox.challenge.microservicepokeapi.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Where a page ended: the data version of the snapshot it came from, its sort type, and the position and name of its
+ * last entry. The position is used while the data is unchanged; after a refresh, paging resumes from the name.
+ * Encoded as unpadded URL-safe Base64, so clients can pass it back as a query parameter untouched.
+ */
+record PageCursor(long dataVersion, String sortType, int position, String lastName) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = Long.toHexString(dataVersion) + SEPARATOR + sortType + SEPARATOR + position + SEPARATOR + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The name comes last and is kept whole, whatever characters it contains.
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length < 4 || Integer.parseInt(parts[2]) < 0) {
+                throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+            }
+            return new PageCursor(Long.parseUnsignedLong(parts[0], 16), parts[1], Integer.parseInt(parts[2]), parts[3]);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.util.search.AhoCorasick;
+import looqbox.challenge.microservicepokeapi.util.search.Highlighter;
+import looqbox.challenge.microservicepokeapi.util.search.Levenshtein;
+import looqbox.challenge.microservicepokeapi.util.search.PrefixTrie;
+import looqbox.challenge.microservicepokeapi.util.search.TrigramIndex;
+import looqbox.challenge.microservicepokeapi.util.sorting.TopK;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable view of one Pokédex refresh: the list as fetched from PokéAPI, one pre-sorted copy per registered
+ * sorting strategy, a trigram index over the lowercased names and a prefix trie for completions. Requests only read these structures, so they
+ * never sort or mutate shared state.
+ *
+ * A Pokémon's id is its position in the source list; each sorted view maps ids to their position in that view,
+ * which lets index hits be put back in sort order with a primitive sort instead of a comparator.
+ *
+ * The snapshot also fingerprints its names, so HTTP validators can be derived for any response without computing it.
+ * Refreshes that bring back identical data keep the previous fingerprint and last-modified time, and refreshes
+ * that add or remove a few names are applied as a patch of the previous snapshot (see {@link #patch}).
+ */
+public final class PokedexSnapshot {
+
+    private static final int ETAG_HASH_BYTES = 16;
+
+    private final long version;
+    private final long lastModified;
+    private final byte[] contentHash;
+    private final List<Pokemon> source;
+    private final String[] lowerCaseNames;
+    private final Map<String, Integer> idsByName;
+    private final TrigramIndex nameIndex;
+    private final PrefixTrie prefixIndex;
+    private final Map<String, SortedView> sortedViews;
+
+    /**
+     * @param previous The snapshot being replaced, or {@code null}; its last-modified time is kept when the names
+     *                 are unchanged.
+     */
+    PokedexSnapshot(long version, List<Pokemon> source, Map<String, List<Pokemon>> sortedPokemons, PokedexSnapshot previous) {
+        this.version = version;
+        this.source = source;
+        this.lowerCaseNames = new String[source.size()];
+
+        MessageDigest digest = sha256();
+        Map<Pokemon, Integer> ids = new IdentityHashMap<>();
+        Map<String, Integer> namesToIds = new HashMap<>();
+        for (int id = 0; id < source.size(); id++) {
+            Pokemon pokemon = source.get(id);
+            lowerCaseNames[id] = pokemon.getName().toLowerCase(Locale.ROOT);
+            ids.put(pokemon, id);
+            namesToIds.putIfAbsent(pokemon.getName(), id);
+            digestName(digest, pokemon.getName());
+        }
+        this.contentHash = digest.digest();
+        this.idsByName = namesToIds;
+        this.lastModified = lastModified(previous, contentHash);
+        this.nameIndex = TrigramIndex.build(lowerCaseNames);
+        this.prefixIndex = PrefixTrie.build(lowerCaseNames);
+
+        Map<String, SortedView> views = new HashMap<>();
+        sortedPokemons.forEach((sortType, pokemons) -> views.put(sortType, new SortedView(pokemons, ids)));
+        this.sortedViews = Map.copyOf(views);
+    }
+
+    private PokedexSnapshot(long version, long lastModified, byte[] contentHash, List<Pokemon> source,
+                            String[] lowerCaseNames, Map<String, Integer> idsByName, TrigramIndex nameIndex,
+                            PrefixTrie prefixIndex, Map<String, SortedView> sortedViews) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.source = source;
+        this.lowerCaseNames = lowerCaseNames;
+        this.idsByName = idsByName;
+        this.nameIndex = nameIndex;
+        this.prefixIndex = prefixIndex;
+        this.sortedViews = sortedViews;
+    }
+
+    /**
+     * Builds the snapshot of {@code newSource} by applying its differences from this snapshot instead of indexing and
+     * sorting everything again. A Pokémon survives when {@code newSource} holds this snapshot's own instance for it
+     * (see {@link #adopt}); every other entry is an addition, and entries of this snapshot missing from
+     * {@code newSource} are removals.
+     * <p>
+     * The trigram index is patched with the added names only, and each sorted view drops the removals and merges in
+     * the additions, sorted on their own, in one linear pass, breaking ties by source position like the stable sorts
+     * of a full build do. The prefix trie is small enough to be rebuilt.
+     *
+     * @param comparators    The comparator behind every sorted view, by sort type.
+     * @param maxChangeRatio Largest share of this snapshot's size that may change before a full build is cheaper.
+     * @return The patched snapshot, or {@code null} when a full build is needed: the change is too large, survivors
+     * changed their relative order, or the set of sort types differs.
+     */
+    PokedexSnapshot patch(long version, List<Pokemon> newSource, Map<String, Comparator<Pokemon>> comparators,
+                          double maxChangeRatio) {
+        if (!comparators.keySet().equals(sortedViews.keySet())) {
+            return null;
+        }
+
+        int[] oldToNew = new int[source.size()];
+        Arrays.fill(oldToNew, -1);
+        IntList added = new IntList();
+        int survivors = 0;
+        int lastOldId = -1;
+        for (int newId = 0; newId < newSource.size(); newId++) {
+            Pokemon pokemon = newSource.get(newId);
+            Integer oldId = idsByName.get(pokemon.getName());
+            if (oldId == null || source.get(oldId) != pokemon || oldToNew[oldId] >= 0) {
+                added.add(newId);
+                continue;
+            }
+            if (oldId < lastOldId) {
+                return null;
+            }
+            lastOldId = oldId;
+            oldToNew[oldId] = newId;
+            survivors++;
+        }
+        int changes = added.size + source.size() - survivors;
+        if (changes > maxChangeRatio * source.size()) {
+            return null;
+        }
+
+        String[] newLowerCaseNames = new String[newSource.size()];
+        for (int oldId = 0; oldId < oldToNew.length; oldId++) {
+            if (oldToNew[oldId] >= 0) {
+                newLowerCaseNames[oldToNew[oldId]] = lowerCaseNames[oldId];
+            }
+        }
+        int[] addedIds = added.toArray();
+        List<Pokemon> addedPokemons = new ArrayList<>(addedIds.length);
+        for (int newId : addedIds) {
+            Pokemon pokemon = newSource.get(newId);
+            newLowerCaseNames[newId] = pokemon.getName().toLowerCase(Locale.ROOT);
+            addedPokemons.add(pokemon);
+        }
+
+        MessageDigest digest = sha256();
+        Map<Pokemon, Integer> ids = new IdentityHashMap<>();
+        Map<String, Integer> namesToIds = new HashMap<>();
+        for (int id = 0; id < newSource.size(); id++) {
+            Pokemon pokemon = newSource.get(id);
+            ids.put(pokemon, id);
+            namesToIds.putIfAbsent(pokemon.getName(), id);
+            digestName(digest, pokemon.getName());
+        }
+        byte[] newContentHash = digest.digest();
+
+        Map<String, SortedView> views = new HashMap<>();
+        sortedViews.forEach((sortType, view) -> {
+            Comparator<Pokemon> comparator = comparators.get(sortType);
+            List<Pokemon> additions = new ArrayList<>(addedPokemons);
+            additions.sort(comparator);
+            views.put(sortType, new SortedView(view.merge(oldToNew, additions, ids, comparator), ids));
+        });
+
+        return new PokedexSnapshot(version, lastModified(this, newContentHash), newContentHash, newSource,
+                newLowerCaseNames, namesToIds, nameIndex.patch(newLowerCaseNames, oldToNew, addedIds),
+                PrefixTrie.build(newLowerCaseNames), Map.copyOf(views));
+    }
+
+    /**
+     * Turns freshly fetched names into the list to cache. When they hash to this snapshot's content, this snapshot's
+     * own source is returned, so the data is recognized as unchanged and nothing is rebuilt. Otherwise a new list is
+     * returned that reuses this snapshot's instance for every name it already holds, which is how {@link #patch}
+     * tells survivors from additions.
+     */
+    List<Pokemon> adopt(List<String> names) {
+        MessageDigest digest = sha256();
+        for (String name : names) {
+            digestName(digest, name);
+        }
+        if (Arrays.equals(digest.digest(), contentHash)) {
+            return source;
+        }
+
+        List<Pokemon> pokemons = new ArrayList<>(names.size());
+        for (String name : names) {
+            Integer id = idsByName.get(name);
+            pokemons.add(id != null ? source.get(id) : new Pokemon(name));
+        }
+        return pokemons;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Identifies the data rather than the build: snapshots rebuilt from identical names share the same value.
+     */
+    public long getDataVersion() {
+        return ByteBuffer.wrap(contentHash).getLong();
+    }
+
+    /**
+     * Strong entity tag of one response built from this snapshot. Responses are a deterministic function of the
+     * names, the response view, the sort type and the query, so the tag is a hash of exactly those inputs.
+     *
+     * @param view Distinguishes response shapes served from the same snapshot, e.g. plain names and highlights.
+     */
+    public String entityTag(String view, String query, String sortType) {
+        MessageDigest digest = sha256();
+        digest.update(contentHash);
+        digest.update((view + '\u0000' + sortType + '\u0000' + (query == null ? "" : query)).getBytes(StandardCharsets.UTF_8));
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, ETAG_HASH_BYTES) + '"';
+    }
+
+    /**
+     * @param sortType A sort type already normalized by {@code SortingStrategyFactory#normalizeSortType}.
+     */
+    public List<Pokemon> sortedBy(String sortType) {
+        return sortedViews.get(sortType).pokemons;
+    }
+
+    /**
+     * Returns the Pokémon whose name contains the query (case insensitive), in the order of the given sort type.
+     * Queries with at least three characters are answered from the trigram index; shorter ones scan the names.
+     *
+     * @param sortType A sort type already normalized by {@code SortingStrategyFactory#normalizeSortType}.
+     */
+    public List<Pokemon> search(String query, String sortType) {
+        return searchPage(query, sortType, -1, 0, Integer.MAX_VALUE).pokemons();
+    }
+
+    /**
+     * Returns one page of {@link #search} results: the matches placed after {@code afterPosition} in the sorted view,
+     * minus the first {@code offset}, up to {@code limit} of them. Only the page is put in order; the index path
+     * selects it from the hits with a bounded heap instead of sorting all of them.
+     *
+     * @param afterPosition Position in the sorted view after which to start, or -1 to start at the beginning.
+     */
+    public SearchPage searchPage(String query, String sortType, int afterPosition, int offset, int limit) {
+        SortedView view = sortedViews.get(sortType);
+        int size = view.order.length;
+        int start = afterPosition + 1;
+        if (query == null || query.isEmpty()) {
+            int from = (int) Math.min(size, (long) start + offset);
+            int to = (int) Math.min(size, (long) from + limit);
+            List<Pokemon> page = from == 0 && to == size ? view.pokemons : view.pokemons.subList(from, to);
+            return new SearchPage(page, to - 1, to < size, null, null);
+        }
+
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        List<Pokemon> result = new ArrayList<>();
+        IntList ids = new IntList();
+        IntList matchOffsets = new IntList();
+        if (!TrigramIndex.supports(lowerCaseQuery)) {
+            int skipped = 0;
+            int lastPosition = afterPosition;
+            for (int position = start; position < size; position++) {
+                int id = view.order[position];
+                int matchOffset = lowerCaseNames[id].indexOf(lowerCaseQuery);
+                if (matchOffset < 0) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else if (result.size() == limit) {
+                    return new SearchPage(result, lastPosition, true, ids.toArray(), matchOffsets.toArray());
+                } else {
+                    result.add(view.pokemons.get(position));
+                    ids.add(id);
+                    matchOffsets.add(matchOffset);
+                    lastPosition = position;
+                }
+            }
+            return new SearchPage(result, lastPosition, false, ids.toArray(), matchOffsets.toArray());
+        }
+
+        int[] hits = nameIndex.search(lowerCaseQuery);
+        int count = 0;
+        for (int hit : hits) {
+            int position = view.positions[hit];
+            if (position >= start) {
+                hits[count++] = position;
+            }
+        }
+        long wanted = (long) offset + limit;
+        int[] selected = TopK.smallest(hits, count, (int) Math.min(count, wanted));
+        for (int i = offset; i < selected.length; i++) {
+            int id = view.order[selected[i]];
+            result.add(view.pokemons.get(selected[i]));
+            ids.add(id);
+            // The index verified candidates with contains(); only the page needs the offset for highlighting.
+            matchOffsets.add(lowerCaseNames[id].indexOf(lowerCaseQuery));
+        }
+        int lastPosition = result.isEmpty() ? afterPosition : selected[selected.length - 1];
+        return new SearchPage(result, lastPosition, count > wanted, ids.toArray(), matchOffsets.toArray());
+    }
+
+    /**
+     * Returns highlight views of a page: new Pokémon instances, so the shared ones held by this snapshot are never
+     * mutated. Matching reuses the lowercased names and the first-match offsets found while searching.
+     */
+    public List<Pokemon> highlight(SearchPage page, String query) {
+        if (query == null || query.isEmpty()) {
+            return page.pokemons();
+        }
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        List<Pokemon> pokemons = page.pokemons();
+        List<Pokemon> highlighted = new ArrayList<>(pokemons.size());
+        for (int i = 0; i < pokemons.size(); i++) {
+            String name = pokemons.get(i).getName();
+            String lowerCaseName = lowerCaseNames[page.ids()[i]];
+            highlighted.add(new Pokemon(name, Highlighter.highlight(name, lowerCaseName, lowerCaseQuery, page.matchOffsets()[i])));
+        }
+        return highlighted;
+    }
+
+    /**
+     * Returns one page of the Pokémon whose name contains the query, like {@link #search}, or is within a few edits
+     * of it (see {@link Levenshtein#maxEdits}). Names containing the query rank first, at distance 0, so tolerating
+     * typos never finds less than the exact search; the rest follow closest first and, at equal distance, in the
+     * order of the given sort type. The prefix trie is searched with a Levenshtein automaton, so names sharing a
+     * prefix share the work and hopeless branches are cut early. Fuzzy pages are addressed by offset only: their
+     * order does not follow a sorted view, so {@code lastPosition} is -1.
+     *
+     * @param sortType A sort type already normalized by {@code SortingStrategyFactory#normalizeSortType}.
+     */
+    public SearchPage fuzzySearchPage(String query, String sortType, int offset, int limit) {
+        SortedView view = sortedViews.get(sortType);
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        int[] containing = containing(lowerCaseQuery);
+        long[] typos = prefixIndex.fuzzySearch(lowerCaseQuery, Levenshtein.maxEdits(lowerCaseQuery.length()));
+
+        // Key every match as (distance, position in the view) so one primitive sort ranks them.
+        boolean[] contained = new boolean[lowerCaseNames.length];
+        long[] matches = new long[containing.length + typos.length];
+        int count = 0;
+        for (int id : containing) {
+            contained[id] = true;
+            matches[count++] = view.positions[id];
+        }
+        for (long typo : typos) {
+            int id = (int) typo;
+            if (!contained[id]) {
+                matches[count++] = (typo >>> 32 << 32) | view.positions[id];
+            }
+        }
+        matches = Arrays.copyOf(matches, count);
+        Arrays.sort(matches);
+
+        int from = (int) Math.min(matches.length, (long) offset);
+        int to = (int) Math.min(matches.length, (long) from + limit);
+        List<Pokemon> result = new ArrayList<>(to - from);
+        int[] ids = new int[to - from];
+        for (int i = from; i < to; i++) {
+            int position = (int) matches[i];
+            result.add(view.pokemons.get(position));
+            ids[i - from] = view.order[position];
+        }
+        return new SearchPage(result, -1, to < matches.length, ids, null);
+    }
+
+    /**
+     * Returns highlight views of a page found by {@link #fuzzySearchPage}: names containing the query are highlighted
+     * like exact matches, and the others mark the characters that line up with the query (see
+     * {@link Highlighter#highlightAligned}).
+     */
+    public List<Pokemon> highlightFuzzy(SearchPage page, String query) {
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        List<Pokemon> pokemons = page.pokemons();
+        List<Pokemon> highlighted = new ArrayList<>(pokemons.size());
+        for (int i = 0; i < pokemons.size(); i++) {
+            String name = pokemons.get(i).getName();
+            String lowerCaseName = lowerCaseNames[page.ids()[i]];
+            int firstMatch = lowerCaseName.indexOf(lowerCaseQuery);
+            highlighted.add(new Pokemon(name, firstMatch >= 0
+                    ? Highlighter.highlight(name, lowerCaseName, lowerCaseQuery, firstMatch)
+                    : Highlighter.highlightAligned(name, lowerCaseName, lowerCaseQuery)));
+        }
+        return highlighted;
+    }
+
+    /**
+     * Ids of the Pokémon whose lowercased name contains the lowercased query, from the trigram index when the query
+     * is long enough for it, otherwise by scanning the names.
+     */
+    private int[] containing(String lowerCaseQuery) {
+        if (TrigramIndex.supports(lowerCaseQuery)) {
+            return nameIndex.search(lowerCaseQuery);
+        }
+        IntList ids = new IntList();
+        for (int id = 0; id < lowerCaseNames.length; id++) {
+            if (lowerCaseNames[id].contains(lowerCaseQuery)) {
+                ids.add(id);
+            }
+        }
+        return ids.toArray();
+    }
+
+    /**
+     * Returns up to {@code limit} Pokémon whose name starts with the prefix (case insensitive), ranked by the given
+     * sort type. The trie yields the completions as one range; only the best {@code limit} of them are ordered, by
+     * their position in the sorted view.
+     *
+     * @param sortType A sort type already normalized by {@code SortingStrategyFactory#normalizeSortType}.
+     */
+    public List<Pokemon> suggest(String prefix, String sortType, int limit) {
+        SortedView view = sortedViews.get(sortType);
+        int[] positions = prefixIndex.complete(prefix == null ? "" : prefix.toLowerCase(Locale.ROOT));
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = view.positions[positions[i]];
+        }
+        int[] selected = TopK.smallest(positions, positions.length, limit);
+        List<Pokemon> suggestions = new ArrayList<>(selected.length);
+        for (int position : selected) {
+            suggestions.add(view.pokemons.get(position));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Finds the Pokémon whose name contains each of the queries, scanning every name once for all of them: an
+     * Aho–Corasick automaton over the queries reports each occurrence in a single pass, so a batch costs one pass
+     * over the names instead of one per query.
+     *
+     * @param lowerCaseQueries Distinct, non-empty queries lowercased with {@link Locale#ROOT}.
+     * @return For each query, the ids of the matching Pokémon in ascending order, to be put in sort order by
+     * {@link #rank}.
+     */
+    public int[][] matchAll(String[] lowerCaseQueries) {
+        AhoCorasick automaton = AhoCorasick.build(lowerCaseQueries);
+        IntList[] matches = new IntList[lowerCaseQueries.length];
+        // A query occurring twice in a name is reported twice; remembering the last id it matched keeps one.
+        int[] lastMatchedId = new int[lowerCaseQueries.length];
+        for (int query = 0; query < matches.length; query++) {
+            matches[query] = new IntList();
+            lastMatchedId[query] = -1;
+        }
+        for (int id = 0; id < lowerCaseNames.length; id++) {
+            int nameId = id;
+            automaton.match(lowerCaseNames[id], query -> {
+                if (lastMatchedId[query] != nameId) {
+                    lastMatchedId[query] = nameId;
+                    matches[query].add(nameId);
+                }
+            });
+        }
+
+        int[][] ids = new int[matches.length][];
+        for (int query = 0; query < matches.length; query++) {
+            ids[query] = matches[query].toArray();
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the first page of the given Pokémon in the order of the sort type, selected from their positions in
+     * the pre-sorted view with a bounded heap, like {@link #searchPage} does for index hits. The page can be resumed
+     * with {@link #searchPage} from its {@code lastPosition}.
+     *
+     * @param ids      Snapshot ids, e.g. one row of {@link #matchAll}, or {@code null} for every Pokémon.
+     * @param sortType A sort type already normalized by {@code SortingStrategyFactory#normalizeSortType}.
+     */
+    public SearchPage rank(int[] ids, String sortType, int limit) {
+        if (ids == null) {
+            return searchPage(null, sortType, -1, 0, limit);
+        }
+        SortedView view = sortedViews.get(sortType);
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[i] = view.positions[ids[i]];
+        }
+        int[] selected = TopK.smallest(positions, positions.length, Math.min(positions.length, limit));
+        List<Pokemon> result = new ArrayList<>(selected.length);
+        int[] pageIds = new int[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            result.add(view.pokemons.get(selected[i]));
+            pageIds[i] = view.order[selected[i]];
+        }
+        int lastPosition = selected.length == 0 ? -1 : selected[selected.length - 1];
+        return new SearchPage(result, lastPosition, ids.length > selected.length, pageIds, null);
+    }
+
+    /**
+     * Finds where a page that ended on {@code lastName} in an older snapshot continues in this one: after that name
+     * if it still exists, otherwise before the first Pokémon that does not sort before it.
+     *
+     * @return The position to pass as {@code afterPosition} to {@link #searchPage}.
+     */
+    public int resumePosition(String sortType, String lastName, Comparator<Pokemon> comparator) {
+        SortedView view = sortedViews.get(sortType);
+        Integer id = idsByName.get(lastName);
+        if (id != null) {
+            return view.positions[id];
+        }
+        Pokemon probe = new Pokemon(lastName);
+        int low = 0;
+        int high = view.order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(view.pokemons.get(middle), probe) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low - 1;
+    }
+
+    boolean isBuiltFrom(List<Pokemon> pokemons) {
+        return source == pokemons;
+    }
+
+    private static void digestName(MessageDigest digest, String name) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static long lastModified(PokedexSnapshot previous, byte[] contentHash) {
+        // HTTP dates have a one-second resolution.
+        return previous != null && Arrays.equals(previous.contentHash, contentHash)
+                ? previous.lastModified
+                : System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", ex);
+        }
+    }
+
+    /**
+     * @param pokemons     The page, in sort order.
+     * @param lastPosition Position of the page's last entry in the sorted view, to resume the next page from.
+     * @param hasMore      Whether further matches follow the page.
+     * @param ids          Snapshot ids of the page's entries; {@code null} when there was no query.
+     * @param matchOffsets Offset of the query's first occurrence in each entry's lowercased name; {@code null} when
+     *                     there was no query or the search was fuzzy.
+     */
+    public record SearchPage(List<Pokemon> pokemons, int lastPosition, boolean hasMore, int[] ids, int[] matchOffsets) {
+    }
+
+    /**
+     * Growable int array, so collecting ids and offsets does not box them.
+     */
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class SortedView {
+        final List<Pokemon> pokemons;
+        // order[position] = id, positions[id] = position
+        final int[] order;
+        final int[] positions;
+
+        SortedView(List<Pokemon> pokemons, Map<Pokemon, Integer> ids) {
+            this.pokemons = pokemons;
+            this.order = new int[pokemons.size()];
+            this.positions = new int[pokemons.size()];
+            for (int position = 0; position < pokemons.size(); position++) {
+                int id = ids.get(pokemons.get(position));
+                order[position] = id;
+                positions[id] = position;
+            }
+        }
+
+        /**
+         * Returns this view without the entries whose {@code oldToNew} id is -1, merged with {@code additions},
+         * which must already be sorted by {@code comparator} and, on ties, by new id. Ties between a survivor and an
+         * addition are broken by new id as well, which is the order a stable sort of the new source gives them, so
+         * a patched view is identical to a freshly built one.
+         *
+         * @param newIds The new id of every Pokémon of the new source, additions included.
+         */
+        List<Pokemon> merge(int[] oldToNew, List<Pokemon> additions, Map<Pokemon, Integer> newIds,
+                            Comparator<Pokemon> comparator) {
+            List<Pokemon> merged = new ArrayList<>(pokemons.size() + additions.size());
+            int next = 0;
+            for (int position = 0; position < pokemons.size(); position++) {
+                int survivorId = oldToNew[order[position]];
+                if (survivorId < 0) {
+                    continue;
+                }
+                Pokemon survivor = pokemons.get(position);
+                while (next < additions.size() && precedes(additions.get(next), survivor, survivorId, newIds, comparator)) {
+                    merged.add(additions.get(next++));
+                }
+                merged.add(survivor);
+            }
+            merged.addAll(additions.subList(next, additions.size()));
+            return List.copyOf(merged);
+        }
+
+        private static boolean precedes(Pokemon addition, Pokemon survivor, int survivorId, Map<Pokemon, Integer> newIds,
+                                        Comparator<Pokemon> comparator) {
+            int comparison = comparator.compare(addition, survivor);
+            return comparison < 0 || comparison == 0 && newIds.get(addition) < survivorId;
+        }
+    }
+}
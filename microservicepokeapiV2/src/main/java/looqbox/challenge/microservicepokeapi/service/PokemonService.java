@@ -1,58 +1,580 @@
 package looqbox.challenge.microservicepokeapi.service;
 
 import looqbox.challenge.microservicepokeapi.exception.ApiRequestException;
+import looqbox.challenge.microservicepokeapi.exception.CircuitOpenException;
+import looqbox.challenge.microservicepokeapi.exception.InvalidBatchRequestException;
+import looqbox.challenge.microservicepokeapi.exception.InvalidPageRequestException;
 import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.infra.CacheRefreshPolicy;
+import looqbox.challenge.microservicepokeapi.infra.ConditionalResponse;
 import looqbox.challenge.microservicepokeapi.infra.HttpRequestComponet;
+import looqbox.challenge.microservicepokeapi.infra.NameStore;
+import looqbox.challenge.microservicepokeapi.infra.PokemonListing;
+import looqbox.challenge.microservicepokeapi.infra.PokemonListingReader;
+import looqbox.challenge.microservicepokeapi.model.BatchQuery;
+import looqbox.challenge.microservicepokeapi.model.BatchRequest;
+import looqbox.challenge.microservicepokeapi.model.BatchResult;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.PageQuery;
 import looqbox.challenge.microservicepokeapi.model.PokedexResultHighlight;
 import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.model.PokemonPage;
+import looqbox.challenge.microservicepokeapi.model.ResponseVersion;
+import looqbox.challenge.microservicepokeapi.model.SimplePokedexResult;
+import looqbox.challenge.microservicepokeapi.util.search.Highlighter;
 import looqbox.challenge.microservicepokeapi.util.sorting.SortingStrategyFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class PokemonService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PokemonService.class);
+
     private final HttpRequestComponet httpRequestComponet;
     private final SortingStrategyFactory sortingStrategyFactory;
     private final CacheComponet<String, List<Pokemon>> cacheComponet;
+    private final QueryResultCache queryResultCache;
+    private final EncodedResponseCache encodedResponseCache;
 
     @Value("${pokeapi.url}")
     private String pokeApiUrl;
-    private static final long CACHE_TTL = 5L * 60 * 1000;
+    public static final long CACHE_TTL = 5L * 60 * 1000;
+    public static final String NAMES_VIEW = "names";
+    public static final String HIGHLIGHT_VIEW = "highlight";
+    public static final String SUGGEST_VIEW = "suggest";
+    public static final String FUZZY_NAMES_VIEW = "names~fuzzy";
+    public static final String FUZZY_HIGHLIGHT_VIEW = "highlight~fuzzy";
+    public static final String DEFAULT_SORT = "alphabetical";
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_BATCH_QUERIES = 100;
+    /**
+     * Bounds the automaton a batch builds; no Pokémon name comes close to this length.
+     */
+    public static final int MAX_BATCH_QUERY_LENGTH = 100;
+    private static final long CACHE_HARD_TTL = 15L * 60 * 1000;
+    private static final long CACHE_MAX_STALENESS = 24L * 60 * 60 * 1000;
+    private static final long CACHE_REFRESH_AHEAD = 30L * 1000;
+    private static final String CACHE_KEY = "all_pokemons";
+
+    @Value("${pokeapi.cache.hard-ttl-ms:900000}")
+    private long cacheHardTtl = CACHE_HARD_TTL;
+    @Value("${pokeapi.cache.max-staleness-ms:86400000}")
+    private long cacheMaxStaleness = CACHE_MAX_STALENESS;
+    @Value("${pokeapi.cache.refresh-ahead-ms:30000}")
+    private long cacheRefreshAhead = CACHE_REFRESH_AHEAD;
+
+    /**
+     * Listing pages past the first one ({@code pokeapi.url}) are requested with this limit.
+     */
+    @Value("${pokeapi.fetch.page-size:300}")
+    private int fetchPageSize = 300;
+    @Value("${pokeapi.fetch.max-concurrency:4}")
+    private int fetchMaxConcurrency = 4;
+
+    /**
+     * Whether refreshes revalidate the listing with conditional requests and patch the previous snapshot instead of
+     * rebuilding it.
+     */
+    @Value("${pokeapi.refresh.delta.enabled:true}")
+    private boolean deltaRefreshEnabled = true;
+    @Value("${pokeapi.refresh.delta.max-change-ratio:0.25}")
+    private double deltaMaxChangeRatio = 0.25;
 
+    private final AtomicReference<PokedexSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final AtomicReference<ListingValidators> listingValidators = new AtomicReference<>();
 
-    public PokemonService(HttpRequestComponet httpRequestComponet, SortingStrategyFactory sortingStrategyFactory, CacheComponet<String, List<Pokemon>> cacheComponet) {
+
+    public PokemonService(HttpRequestComponet httpRequestComponet, SortingStrategyFactory sortingStrategyFactory,
+                          CacheComponet<String, List<Pokemon>> cacheComponet, QueryResultCache queryResultCache,
+                          EncodedResponseCache encodedResponseCache) {
         this.httpRequestComponet = httpRequestComponet;
         this.sortingStrategyFactory = sortingStrategyFactory;
         this.cacheComponet = cacheComponet;
+        this.queryResultCache = queryResultCache;
+        this.encodedResponseCache = encodedResponseCache;
     }
 
+    /**
+     * Returns the cached Pokédex list. On a miss only one caller fetches from PokéAPI; concurrent callers wait for it.
+     * Past CACHE_TTL the list is refreshed in the background while the previous one keeps being served.
+     */
     public List<Pokemon> getAllPokemons() {
-        String cacheKey = "all_pokemons";
+        CacheRefreshPolicy policy = new CacheRefreshPolicy(CACHE_TTL, cacheHardTtl, cacheMaxStaleness, cacheRefreshAhead);
+        return cacheComponet.getOrLoad(CACHE_KEY, this::fetchPokemons, policy);
+    }
 
+    /**
+     * Loads the Pokédex as soon as the service is up: from the on-disk snapshot when there is one recent enough,
+     * otherwise from PokéAPI, so the first user request does not pay for a cold fetch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            getAllPokemons();
+        } catch (RuntimeException e) {
+            // PokéAPI is unreachable, its answer was unusable or the load timed out, and there is no usable snapshot:
+            // start cold, the first request will retry.
+            logger.warn("Could not warm up the Pokédex; it will be loaded on the first request", e);
+        }
+    }
 
-        List<Pokemon> cachedPokemons = cacheComponet.get(cacheKey);
-        if (cachedPokemons != null) {
+    /**
+     * Streams the listing straight into a compact {@link NameStore}, skipping every field but the names.
+     * <p>
+     * The first page ({@code pokeapi.url}) reports the upstream {@code count}; when it holds fewer names than that,
+     * the remaining pages are fetched concurrently and appended in offset order. Any page that still fails after its
+     * retries fails the whole fetch, so the cache keeps serving the previous complete list instead of a partial one.
+     * <p>
+     * With delta refresh, every page is requested conditionally with the {@code ETag} it had on the previous fetch.
+     * When all of them come back 304 Not Modified, or the fetched names hash to the current snapshot's, the list
+     * already cached is returned as is: re-caching it only extends its TTL and nothing is rebuilt.
+     */
+    private List<Pokemon> fetchPokemons() {
+        ListingValidators validators = deltaRefreshEnabled ? listingValidators.get() : null;
+        Map<String, String> entityTags = validators == null ? Map.of() : validators.entityTags();
+        Semaphore permits = new Semaphore(Math.max(1, fetchMaxConcurrency));
 
-            return cachedPokemons;
-        }
+        ConditionalResponse<PokemonListing> first = fetchPage(pokeApiUrl, entityTags.get(pokeApiUrl), permits);
+        int count = first.notModified() ? validators.count()
+                : Math.max(first.body().count(), first.body().names().size());
+        int firstPageSize = first.notModified() ? validators.firstPageSize() : first.body().names().size();
 
+        List<String> urls = new ArrayList<>();
+        urls.add(pokeApiUrl);
+        for (int offset = firstPageSize; offset < count; offset += fetchPageSize) {
+            urls.add(UriComponentsBuilder.fromUriString(pokeApiUrl)
+                    .replaceQueryParam("offset", offset)
+                    .replaceQueryParam("limit", fetchPageSize)
+                    .toUriString());
+        }
+        List<ConditionalResponse<PokemonListing>> pages = new ArrayList<>(urls.size());
+        pages.add(first);
+        pages.addAll(fetchPages(urls.subList(1, urls.size()), entityTags, permits));
 
-        ResponseEntity<PokedexResultHighlight> response = httpRequestComponet.sendGetRequest(pokeApiUrl, PokedexResultHighlight.class);
-        List<Pokemon> pokemons = Optional.ofNullable(response.getBody())
-                .map(PokedexResultHighlight::getResults)
-                .orElseThrow(() -> new ApiRequestException("Empty or invalid response from PokéAPI"));
+        if (pages.stream().allMatch(ConditionalResponse::notModified)) {
+            return validators.pokemons();
+        }
+        // Some pages changed; the ones confirmed unchanged were not sent back, so they are fetched again.
+        List<String> unchangedUrls = new ArrayList<>();
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i).notModified()) {
+                unchangedUrls.add(urls.get(i));
+            }
+        }
+        Iterator<ConditionalResponse<PokemonListing>> refetched =
+                fetchPages(unchangedUrls, Map.of(), permits).iterator();
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i).notModified()) {
+                pages.set(i, refetched.next());
+            }
+        }
 
+        // Pages are read at different instants; an insertion upstream can shift an entry onto two of them.
+        Set<String> seen = new HashSet<>(count * 4 / 3 + 1);
+        List<String> names = new ArrayList<>(count);
+        Map<String, String> pageEntityTags = new HashMap<>();
+        for (int i = 0; i < pages.size(); i++) {
+            NameStore page = pages.get(i).body().names();
+            for (int j = 0; j < page.size(); j++) {
+                String name = page.name(j);
+                if (seen.add(name)) {
+                    names.add(name);
+                }
+            }
+            if (pages.get(i).entityTag() != null) {
+                pageEntityTags.put(urls.get(i), pages.get(i).entityTag());
+            }
+        }
 
-        cacheComponet.put(cacheKey, pokemons, CACHE_TTL);
+        PokedexSnapshot current = snapshot.get();
+        List<Pokemon> pokemons;
+        if (deltaRefreshEnabled && current != null) {
+            pokemons = current.adopt(names);
+        } else {
+            pokemons = new ArrayList<>(names.size());
+            for (String name : names) {
+                pokemons.add(new Pokemon(name));
+            }
+        }
+        // Conditional requests only pay off when every page can answer 304.
+        listingValidators.set(pageEntityTags.size() == urls.size()
+                ? new ListingValidators(pokemons, count, firstPageSize, Map.copyOf(pageEntityTags))
+                : null);
         return pokemons;
     }
 
+    /**
+     * Fetches the given pages one virtual thread per page, with at most as many requests in flight as
+     * {@code permits} allows, and returns them in the same order. The first failure cancels the pages still pending.
+     */
+    private List<ConditionalResponse<PokemonListing>> fetchPages(List<String> urls, Map<String, String> entityTags,
+                                                                 Semaphore permits) {
+        if (urls.isEmpty()) {
+            return List.of();
+        }
+        List<Future<ConditionalResponse<PokemonListing>>> pending = new ArrayList<>(urls.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String url : urls) {
+                pending.add(executor.submit(() -> fetchPage(url, entityTags.get(url), permits)));
+            }
+
+            List<ConditionalResponse<PokemonListing>> pages = new ArrayList<>(pending.size());
+            try {
+                for (Future<ConditionalResponse<PokemonListing>> page : pending) {
+                    pages.add(page.get());
+                }
+            } catch (ExecutionException e) {
+                pending.forEach(page -> page.cancel(true));
+                throw e.getCause() instanceof ApiRequestException failure ? failure
+                        : new ApiRequestException("Failed to fetch a PokéAPI listing page", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.forEach(page -> page.cancel(true));
+                throw new ApiRequestException("Interrupted while fetching PokéAPI listing pages", e);
+            }
+            return pages;
+        }
+    }
+
+    /**
+     * Fetches one page. Transient failures are already retried by {@link HttpRequestComponet}'s resilience layer, so
+     * a failure here is final.
+     */
+    private ConditionalResponse<PokemonListing> fetchPage(String url, String entityTag, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiRequestException("Interrupted while fetching data from URI: " + url, e);
+        }
+        try {
+            ConditionalResponse<PokemonListing> page =
+                    httpRequestComponet.streamGetRequest(url, entityTag, PokemonListingReader::read);
+            if (page == null || (!page.notModified() && (page.body() == null || page.body().names() == null))) {
+                throw new ApiRequestException("Empty or invalid response from PokéAPI: " + url);
+            }
+            return page;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns the sorted snapshot of the current Pokédex data, building it once whenever the cached list is replaced.
+     * Concurrent builders race on a compare-and-set so every request sees one fully built snapshot. While PokéAPI's
+     * circuit is open and the list cannot be loaded, the last snapshot keeps being served.
+     */
+    public PokedexSnapshot getSnapshot() {
+        List<Pokemon> pokemons;
+        try {
+            pokemons = getAllPokemons();
+        } catch (CircuitOpenException e) {
+            PokedexSnapshot last = snapshot.get();
+            if (last == null) {
+                throw e;
+            }
+            return last;
+        }
+
+        PokedexSnapshot current = snapshot.get();
+        if (current != null && current.isBuiltFrom(pokemons)) {
+            return current;
+        }
+
+        PokedexSnapshot fresh = buildSnapshot(pokemons, current);
+        if (snapshot.compareAndSet(current, fresh)) {
+            return fresh;
+        }
+        PokedexSnapshot winner = snapshot.get();
+        return winner != null && winner.isBuiltFrom(pokemons) ? winner : fresh;
+    }
+
+    /**
+     * Looks the query up in the snapshot's name index; hits come back already in the requested sort order.
+     */
+    public List<Pokemon> searchPokemons(String query, String sortType) {
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        return getSnapshot().search(query, normalizedSortType);
+    }
+
+    /**
+     * Same result as {@link #searchPokemons}, reduced to names and served from the per-query result cache, which is
+     * invalidated whenever the snapshot is replaced.
+     */
+    public List<String> searchPokemonNames(String query, String sortType) {
+        return searchPokemonNames(getSnapshot(), query, sortType);
+    }
+
+    private List<String> searchPokemonNames(PokedexSnapshot currentSnapshot, String query, String sortType) {
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        return queryResultCache.getOrCompute(currentSnapshot.getVersion(), query, normalizedSortType,
+                () -> currentSnapshot.search(query, normalizedSortType).stream()
+                        .map(Pokemon::getName)
+                        .toList());
+    }
+
+    /**
+     * Returns one page of search results. Pages after the first are addressed by the cursor of the previous page,
+     * which stays valid across data refreshes (see {@link PageCursor}); {@code offset} is counted from the cursor.
+     */
+    public PokemonPage searchPokemonPage(String query, String sortType, PageQuery page) {
+        return searchPokemonPage(getSnapshot(), query, sortType, page);
+    }
+
+    private PokemonPage searchPokemonPage(PokedexSnapshot currentSnapshot, String query, String sortType, PageQuery page) {
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        PokedexSnapshot.SearchPage result = searchPage(currentSnapshot, query, normalizedSortType, page);
+        return new PokemonPage(result.pokemons(), nextCursor(currentSnapshot, normalizedSortType, result));
+    }
+
+    /**
+     * The {@code GET /pokemons} body. Unpaged results come from the per-query result cache.
+     */
+    public SimplePokedexResult getPokemonsResult(String query, String sortType, PageQuery page) {
+        return getPokemonsResult(getSnapshot(), query, sortType, page);
+    }
+
+    public SimplePokedexResult getPokemonsResult(PokedexSnapshot currentSnapshot, String query, String sortType, PageQuery page) {
+        if (page.isUnpaged()) {
+            return new SimplePokedexResult(searchPokemonNames(currentSnapshot, query, sortType));
+        }
+        PokemonPage pokemonPage = searchPokemonPage(currentSnapshot, query, sortType, page);
+        return new SimplePokedexResult(pokemonPage.pokemons().stream().map(Pokemon::getName).toList(), pokemonPage.nextCursor());
+    }
+
+    /**
+     * The {@code GET /pokemons/highlight} body. Highlights are rendered from the match offsets found by the search,
+     * on fresh Pokémon instances, so the cached ones are never mutated.
+     */
+    public PokedexResultHighlight getHighlightResult(String query, String sortType, PageQuery page) {
+        return getHighlightResult(getSnapshot(), query, sortType, page);
+    }
+
+    public PokedexResultHighlight getHighlightResult(PokedexSnapshot currentSnapshot, String query, String sortType, PageQuery page) {
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        PokedexSnapshot.SearchPage result = searchPage(currentSnapshot, query, normalizedSortType, page);
+        return new PokedexResultHighlight(currentSnapshot.highlight(result, query),
+                nextCursor(currentSnapshot, normalizedSortType, result));
+    }
+
+    /**
+     * The {@code GET /pokemons?fuzzy=true} body: names containing the query, then names within a few edits of it,
+     * closest first, each group in the requested sort order. Without a query there is nothing to tolerate, and the
+     * exact result is returned. Fuzzy pages are addressed by offset, so a page followed by more matches carries the
+     * offset of the next one as {@code nextOffset} instead of a cursor.
+     */
+    public SimplePokedexResult getFuzzyPokemonsResult(String query, String sortType, PageQuery page) {
+        return getFuzzyPokemonsResult(getSnapshot(), query, sortType, page);
+    }
+
+    public SimplePokedexResult getFuzzyPokemonsResult(PokedexSnapshot currentSnapshot, String query, String sortType, PageQuery page) {
+        if (query == null || query.isEmpty()) {
+            return getPokemonsResult(currentSnapshot, query, sortType, page);
+        }
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        PokedexSnapshot.SearchPage result = fuzzySearchPage(currentSnapshot, query, normalizedSortType, page);
+        return new SimplePokedexResult(result.pokemons().stream().map(Pokemon::getName).toList(), null,
+                nextOffset(page, result));
+    }
+
+    /**
+     * The {@code GET /pokemons/highlight?fuzzy=true} body, marking the characters of each name that line up with
+     * the query, with the same {@code nextOffset} as {@link #getFuzzyPokemonsResult}.
+     */
+    public PokedexResultHighlight getFuzzyHighlightResult(String query, String sortType, PageQuery page) {
+        return getFuzzyHighlightResult(getSnapshot(), query, sortType, page);
+    }
+
+    public PokedexResultHighlight getFuzzyHighlightResult(PokedexSnapshot currentSnapshot, String query, String sortType, PageQuery page) {
+        if (query == null || query.isEmpty()) {
+            return getHighlightResult(currentSnapshot, query, sortType, page);
+        }
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        PokedexSnapshot.SearchPage result = fuzzySearchPage(currentSnapshot, query, normalizedSortType, page);
+        return new PokedexResultHighlight(currentSnapshot.highlightFuzzy(result, query), null, nextOffset(page, result));
+    }
+
+    /**
+     * Computes the body of a view from its name, for callers that pick the view at run time. Callers that also send
+     * the response validators pass the snapshot those were computed from, so the body describes the same data.
+     */
+    public Object getResult(PokedexSnapshot currentSnapshot, String view, String query, String sortType, PageQuery page) {
+        return switch (view) {
+            case NAMES_VIEW -> getPokemonsResult(currentSnapshot, query, sortType, page);
+            case HIGHLIGHT_VIEW -> getHighlightResult(currentSnapshot, query, sortType, page);
+            case FUZZY_NAMES_VIEW -> getFuzzyPokemonsResult(currentSnapshot, query, sortType, page);
+            case FUZZY_HIGHLIGHT_VIEW -> getFuzzyHighlightResult(currentSnapshot, query, sortType, page);
+            case SUGGEST_VIEW -> getSuggestions(currentSnapshot, query, sortType, page.effectiveLimit());
+            default -> throw new IllegalArgumentException("Unknown view: " + view);
+        };
+    }
+
+    /**
+     * The {@code GET /pokemons/suggest} body: up to {@code limit} names starting with the query, ranked by the sort
+     * type, completed from the snapshot's prefix trie.
+     */
+    public SimplePokedexResult getSuggestions(String query, String sortType, int limit) {
+        return getSuggestions(getSnapshot(), query, sortType, limit);
+    }
+
+    public SimplePokedexResult getSuggestions(PokedexSnapshot currentSnapshot, String query, String sortType, int limit) {
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        return new SimplePokedexResult(currentSnapshot.suggest(query, normalizedSortType, limit).stream()
+                .map(Pokemon::getName)
+                .toList());
+    }
+
+    /**
+     * The {@code POST /pokemons/batch} body: the {@code GET /pokemons} result of every query, evaluated together
+     * against one snapshot. The distinct queries are matched in a single pass over the names (see
+     * {@link PokedexSnapshot#matchAll}), and each result is then ranked from the snapshot's pre-sorted view of its
+     * sort type, so nothing is sorted per query. A result cut short by its limit carries the cursor of its next page.
+     */
+    public BatchResult getBatchResult(BatchRequest request) {
+        List<BatchQuery> queries = request == null ? null : request.queries();
+        if (queries == null || queries.isEmpty()) {
+            throw new InvalidBatchRequestException("A batch needs at least one query");
+        }
+        if (queries.size() > MAX_BATCH_QUERIES) {
+            throw new InvalidBatchRequestException("A batch takes at most " + MAX_BATCH_QUERIES + " queries");
+        }
+
+        // Validate everything before any work, so a bad entry fails the batch up front.
+        String[] sortTypes = new String[queries.size()];
+        PageQuery[] pages = new PageQuery[queries.size()];
+        Map<String, Integer> patternIds = new LinkedHashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            BatchQuery query = queries.get(i);
+            if (query == null) {
+                throw new InvalidBatchRequestException("Query " + i + " is null");
+            }
+            sortTypes[i] = sortingStrategyFactory.normalizeSortType(query.sort() == null ? DEFAULT_SORT : query.sort());
+            pages[i] = new PageQuery(query.limit(), 0, null);
+            if (query.query() != null && query.query().length() > MAX_BATCH_QUERY_LENGTH) {
+                throw new InvalidBatchRequestException("Query " + i + " is longer than " + MAX_BATCH_QUERY_LENGTH + " characters");
+            }
+            if (query.query() != null && !query.query().isEmpty()) {
+                patternIds.putIfAbsent(query.query().toLowerCase(Locale.ROOT), patternIds.size());
+            }
+        }
+
+        PokedexSnapshot currentSnapshot = getSnapshot();
+        int[][] matches = patternIds.isEmpty() ? new int[0][] : currentSnapshot.matchAll(patternIds.keySet().toArray(new String[0]));
+        List<SimplePokedexResult> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            String query = queries.get(i).query();
+            int[] ids = query == null || query.isEmpty() ? null : matches[patternIds.get(query.toLowerCase(Locale.ROOT))];
+            PokedexSnapshot.SearchPage result = currentSnapshot.rank(ids, sortTypes[i], pages[i].effectiveLimit());
+            results.add(new SimplePokedexResult(result.pokemons().stream().map(Pokemon::getName).toList(),
+                    nextCursor(currentSnapshot, sortTypes[i], result)));
+        }
+        return new BatchResult(results);
+    }
+
+    private PokedexSnapshot.SearchPage searchPage(PokedexSnapshot currentSnapshot, String query, String normalizedSortType, PageQuery page) {
+        int afterPosition = -1;
+        if (page.cursor() != null) {
+            PageCursor cursor = PageCursor.decode(page.cursor());
+            if (!cursor.sortType().equals(normalizedSortType)) {
+                throw new InvalidPageRequestException("The cursor was issued for sort type " + cursor.sortType());
+            }
+            afterPosition = cursor.dataVersion() == currentSnapshot.getDataVersion()
+                    ? cursor.position()
+                    : currentSnapshot.resumePosition(normalizedSortType, cursor.lastName(),
+                            sortingStrategyFactory.getComparator(normalizedSortType));
+        }
+        return currentSnapshot.searchPage(query, normalizedSortType, afterPosition, page.offset(), page.effectiveLimit());
+    }
+
+    private static PokedexSnapshot.SearchPage fuzzySearchPage(PokedexSnapshot currentSnapshot, String query, String normalizedSortType, PageQuery page) {
+        if (page.cursor() != null) {
+            throw new InvalidPageRequestException("Fuzzy results are paged by offset; cursors are not supported");
+        }
+        return currentSnapshot.fuzzySearchPage(query, normalizedSortType, page.offset(), page.effectiveLimit());
+    }
+
+    private static Integer nextOffset(PageQuery page, PokedexSnapshot.SearchPage result) {
+        return result.hasMore() ? page.offset() + result.pokemons().size() : null;
+    }
+
+    private static String nextCursor(PokedexSnapshot currentSnapshot, String normalizedSortType, PokedexSnapshot.SearchPage result) {
+        if (!result.hasMore()) {
+            return null;
+        }
+        String lastName = result.pokemons().get(result.pokemons().size() - 1).getName();
+        return new PageCursor(currentSnapshot.getDataVersion(), normalizedSortType, result.lastPosition(), lastName).encode();
+    }
+
+    /**
+     * Returns the validators of a response without searching, sorting or serializing anything, so conditional
+     * requests can be answered from them alone. The body sent under them must come from
+     * {@link #getResult(PokedexSnapshot, String, String, String, PageQuery)} with the same snapshot; reading the
+     * snapshot again could pick up a refresh and pair a new body with the old entity tag.
+     *
+     * @param view One of the {@code *_VIEW} constants.
+     */
+    public ResponseVersion getResponseVersion(PokedexSnapshot currentSnapshot, String view, String query, String sortType, PageQuery page) {
+        String normalizedSortType = sortingStrategyFactory.normalizeSortType(sortType);
+        String pagedView = page.isUnpaged() ? view : view + '?' + page.describe();
+        return new ResponseVersion(currentSnapshot.entityTag(pagedView, query, normalizedSortType), currentSnapshot.getLastModified());
+    }
+
+    /**
+     * Returns the response body serialized once per entity tag. The payload must be computed from the snapshot the
+     * version was taken from, since whatever it returns is cached under that tag.
+     */
+    public EncodedResponse getEncodedResponse(ResponseVersion version, Supplier<?> payload) {
+        return encodedResponseCache.getOrEncode(version.etag(), payload);
+    }
+
+    private PokedexSnapshot buildSnapshot(List<Pokemon> pokemons, PokedexSnapshot previous) {
+        long version = snapshotVersion.incrementAndGet();
+        if (deltaRefreshEnabled && previous != null) {
+            Map<String, Comparator<Pokemon>> comparators = new HashMap<>();
+            for (String strategyName : sortingStrategyFactory.getStrategyNames()) {
+                comparators.put(strategyName, sortingStrategyFactory.getComparator(strategyName));
+            }
+            PokedexSnapshot patched = previous.patch(version, pokemons, comparators, deltaMaxChangeRatio);
+            if (patched != null) {
+                return patched;
+            }
+        }
+
+        Map<String, List<Pokemon>> sortedViews = new HashMap<>();
+        for (String strategyName : sortingStrategyFactory.getStrategyNames()) {
+            sortedViews.put(strategyName, List.copyOf(sortingStrategyFactory.sort(pokemons, strategyName)));
+        }
+        return new PokedexSnapshot(version, pokemons, sortedViews, previous);
+    }
+
 
     public List<Pokemon> filterPokemons(List<Pokemon> pokemons, String query) {
         if (query == null || query.isEmpty()) {
@@ -68,19 +590,27 @@ public class PokemonService {
         return sortingStrategyFactory.sort(pokemons, sortType);
     }
 
-
+    /**
+     * Returns highlight views of the given Pokémon, matching the query case-insensitively; the inputs are not modified.
+     */
     public List<Pokemon> getPokemonsWithHighlight(List<Pokemon> pokemons, String query) {
         if (query == null || query.isEmpty()) {
             return pokemons;
         }
         return pokemons.stream()
-                .map(pokemon -> {
-                    String name = pokemon.getName();
-                    String highlightedName = name.toLowerCase().contains(query.toLowerCase()) ?
-                            name.replace(query, "<pre>" + query + "</pre>") : name;
-                    pokemon.setHighlight(highlightedName);
-                    return pokemon;
-                })
+                .map(pokemon -> new Pokemon(pokemon.getName(), Highlighter.highlight(pokemon.getName(), query)))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * What the last full fetch of the listing can be revalidated with.
+     *
+     * @param pokemons      The list that fetch produced, returned again when every page is still current.
+     * @param count         The upstream count it reported.
+     * @param firstPageSize The number of entries on its first page, which places the offsets of the others.
+     * @param entityTags    The {@code ETag} of every page, by URL.
+     */
+    private record ListingValidators(List<Pokemon> pokemons, int count, int firstPageSize,
+                                     Map<String, String> entityTags) {
+    }
 }
@@ -0,0 +1,50 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.model.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Caches the final, sorted list of names for each (query, sort type) pair. Keys carry the generation of the Pokédex
+ * snapshot they were computed from, so replacing the snapshot invalidates every cached result at once; results of
+ * older generations are never read again and age out of the bounded cache.
+ */
+@Component
+public class QueryResultCache {
+
+    private static final long RESULT_TTL = 5L * 60 * 1000;
+    private static final char SEPARATOR = '\u0000';
+
+    private final CacheComponet<String, List<String>> cache;
+
+    public QueryResultCache(CacheComponet<String, List<String>> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the cached result or computes it once, even when several requests ask for it concurrently.
+     *
+     * @param generation Version of the snapshot the result is computed from.
+     * @param query      The raw query; matching is case-insensitive, so it is lowercased for the key.
+     * @param sortType   A sort type already normalized by {@code SortingStrategyFactory#normalizeSortType}.
+     */
+    public List<String> getOrCompute(long generation, String query, String sortType, Supplier<List<String>> computation) {
+        return cache.getOrLoad(key(generation, query, sortType), computation, RESULT_TTL);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    static String normalizeQuery(String query) {
+        return query == null ? "" : query.toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(long generation, String query, String sortType) {
+        return generation + String.valueOf(SEPARATOR) + sortType + SEPARATOR + normalizeQuery(query);
+    }
+}
@@ -0,0 +1,110 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import looqbox.challenge.microservicepokeapi.model.BatchRequest;
+import looqbox.challenge.microservicepokeapi.model.BatchResult;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.PageQuery;
+import looqbox.challenge.microservicepokeapi.model.PokedexResultHighlight;
+import looqbox.challenge.microservicepokeapi.model.PokemonPage;
+import looqbox.challenge.microservicepokeapi.model.ResponseVersion;
+import looqbox.challenge.microservicepokeapi.model.SimplePokedexResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking front of {@link PokemonService} for the WebFlux stack, active under the {@code reactive} profile.
+ * It shares the cache, the snapshot with its name index and sorted views, and the response caches with the servlet
+ * stack; only the threading differs. A cold or expired cache makes {@link PokemonService#getSnapshot()} call PokéAPI
+ * through the blocking HTTP client, so every step that may reach it is subscribed on a worker scheduler and the
+ * event loop never waits on the network.
+ */
+@Service
+@Profile("reactive")
+public class ReactivePokemonService {
+
+    private final PokemonService pokemonService;
+    private final Scheduler scheduler;
+
+    @Autowired
+    public ReactivePokemonService(PokemonService pokemonService) {
+        this(pokemonService, Schedulers.boundedElastic());
+    }
+
+    ReactivePokemonService(PokemonService pokemonService, Scheduler scheduler) {
+        this.pokemonService = pokemonService;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * The snapshot one request reads both its validators and its body from.
+     */
+    public Mono<PokedexSnapshot> getSnapshot() {
+        return defer(pokemonService::getSnapshot);
+    }
+
+    /**
+     * Computed on the subscribing thread: it only hashes the request against a snapshot already in hand.
+     */
+    public Mono<ResponseVersion> getResponseVersion(PokedexSnapshot snapshot, String view, String query, String sortType, PageQuery page) {
+        return Mono.fromCallable(() -> pokemonService.getResponseVersion(snapshot, view, query, sortType, page));
+    }
+
+    public Mono<SimplePokedexResult> getPokemonsResult(String query, String sortType, PageQuery page) {
+        return defer(() -> pokemonService.getPokemonsResult(query, sortType, page));
+    }
+
+    public Mono<PokedexResultHighlight> getHighlightResult(String query, String sortType, PageQuery page) {
+        return defer(() -> pokemonService.getHighlightResult(query, sortType, page));
+    }
+
+    /**
+     * @param view One of the {@code PokemonService.*_VIEW} constants.
+     */
+    public Mono<Object> getResult(PokedexSnapshot snapshot, String view, String query, String sortType, PageQuery page) {
+        return defer(() -> pokemonService.getResult(snapshot, view, query, sortType, page));
+    }
+
+    /**
+     * Returns the pre-encoded body of a view, searching and serializing it only when its entity tag is not cached.
+     *
+     * @param snapshot The snapshot {@code version} was computed from.
+     * @param view     One of the {@code PokemonService.*_VIEW} constants.
+     */
+    public Mono<EncodedResponse> getEncodedResponse(ResponseVersion version, PokedexSnapshot snapshot, String view, String query, String sortType, PageQuery page) {
+        return defer(() -> pokemonService.getEncodedResponse(version,
+                () -> pokemonService.getResult(snapshot, view, query, sortType, page)));
+    }
+
+    /**
+     * Evaluates a batch on the worker scheduler; see {@link PokemonService#getBatchResult}.
+     */
+    public Mono<BatchResult> getBatchResult(BatchRequest request) {
+        return defer(() -> pokemonService.getBatchResult(request));
+    }
+
+    /**
+     * Searches one page for streaming. Unfiltered, unpaged requests get the snapshot's sorted view itself, so the
+     * caller can emit it element by element without the service copying or serializing it first.
+     */
+    public Mono<PokemonPage> searchPokemonPage(String query, String sortType, PageQuery page) {
+        return defer(() -> pokemonService.searchPokemonPage(query, sortType, page));
+    }
+
+    /**
+     * Same as {@link #searchPokemonPage}, with the Pokémon of the page replaced by their highlight views.
+     */
+    public Mono<PokemonPage> searchHighlightPage(String query, String sortType, PageQuery page) {
+        return getHighlightResult(query, sortType, page)
+                .map(result -> new PokemonPage(result.getResults(), result.getNextCursor()));
+    }
+
+    private <T> Mono<T> defer(Supplier<T> step) {
+        return Mono.fromCallable(step::get).subscribeOn(scheduler);
+    }
+}
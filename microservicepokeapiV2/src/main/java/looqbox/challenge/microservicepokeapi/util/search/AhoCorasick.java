@@ -0,0 +1,176 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Logic Explanation:
+ * Aho–Corasick automaton: a trie of the patterns whose states also carry a failure link, pointing to the state of
+ * the longest proper suffix of their path that is itself a trie path. Following failure links ahead of time turns
+ * the trie into a deterministic automaton with one transition per state and character, so a text is scanned in one
+ * left-to-right pass with a single table lookup per character, however many patterns there are. Each state also
+ * links to the nearest state on its failure chain that ends a pattern, so reporting skips states that end none.
+
+ * Layout:
+ * - alphabet:   the distinct characters of the patterns, sorted; any other character sends the scan back to the
+ *               root, since no pattern contains it. asciiSymbols maps ASCII characters to their symbol directly.
+ * - transitions[state * alphabet.length + symbol]: the next state.
+ * - pattern[s]: id of the pattern ending at s, or -1; outputLink[s]: nearest state on the failure chain ending a
+ *               pattern, or -1.
+
+ * Big-θ Analysis:
+ * - Build: θ(P · σ), where P is the total length of the patterns and σ the size of their alphabet.
+ * - Match: θ(n + z) for a text of length n with z pattern occurrences (plus a binary search per non-ASCII char).
+
+ * Advantages:
+ * - The cost of a scan does not grow with the number of patterns, only with the matches reported.
+
+ * Disadvantages:
+ * - θ(P · σ) ints of memory, and the patterns are fixed at build time.
+ */
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+    private static final int ASCII = 128;
+
+    private final char[] alphabet;
+    private final int[] asciiSymbols;
+    private final int[] transitions;
+    private final int[] pattern;
+    private final int[] outputLink;
+    private final int patternCount;
+
+    private AhoCorasick(char[] alphabet, int[] asciiSymbols, int[] transitions, int[] pattern, int[] outputLink,
+                        int patternCount) {
+        this.alphabet = alphabet;
+        this.asciiSymbols = asciiSymbols;
+        this.transitions = transitions;
+        this.pattern = pattern;
+        this.outputLink = outputLink;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * Builds the automaton. The position of each pattern in the array is its id.
+     *
+     * @param patterns Distinct, non-empty patterns, normalized (e.g. lowercased) the same way texts will be.
+     * @throws IllegalArgumentException If a pattern is empty or repeated.
+     */
+    public static AhoCorasick build(String[] patterns) {
+        Objects.requireNonNull(patterns, "Patterns cannot be null.");
+
+        int capacity = 1;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns cannot be empty.");
+            }
+            capacity += pattern.length();
+        }
+        char[] alphabet = alphabetOf(patterns, capacity - 1);
+        int[] asciiSymbols = new int[ASCII];
+        Arrays.fill(asciiSymbols, -1);
+        for (int symbol = 0; symbol < alphabet.length && alphabet[symbol] < ASCII; symbol++) {
+            asciiSymbols[alphabet[symbol]] = symbol;
+        }
+
+        // Trie edges first; 0 means "no edge" since the root is never a child.
+        int sigma = alphabet.length;
+        int[] transitions = new int[capacity * sigma];
+        int[] patternAt = new int[capacity];
+        Arrays.fill(patternAt, -1);
+        int stateCount = 1;
+        for (int id = 0; id < patterns.length; id++) {
+            String text = patterns[id];
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                int edge = state * sigma + Arrays.binarySearch(alphabet, text.charAt(i));
+                if (transitions[edge] == 0) {
+                    transitions[edge] = stateCount++;
+                }
+                state = transitions[edge];
+            }
+            if (patternAt[state] >= 0) {
+                throw new IllegalArgumentException("Duplicate pattern: " + text);
+            }
+            patternAt[state] = id;
+        }
+
+        // Breadth first, every missing edge is copied from the failure state, whose row is already complete.
+        int[] failure = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        outputLink[ROOT] = -1;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            int state = queue[head++];
+            for (int symbol = 0; symbol < sigma; symbol++) {
+                int edge = state * sigma + symbol;
+                int child = transitions[edge];
+                if (child == 0) {
+                    transitions[edge] = state == ROOT ? ROOT : transitions[failure[state] * sigma + symbol];
+                    continue;
+                }
+                int link = state == ROOT ? ROOT : transitions[failure[state] * sigma + symbol];
+                failure[child] = link;
+                outputLink[child] = patternAt[link] >= 0 ? link : outputLink[link];
+                queue[tail++] = child;
+            }
+        }
+
+        return new AhoCorasick(alphabet, asciiSymbols, Arrays.copyOf(transitions, stateCount * sigma),
+                Arrays.copyOf(patternAt, stateCount), outputLink, patterns.length);
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Reports the id of every pattern occurring in the text, once per occurrence, in the order the occurrences end.
+     *
+     * @param text A text normalized like the patterns.
+     */
+    public void match(String text, IntConsumer onMatch) {
+        int sigma = alphabet.length;
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = symbol(text.charAt(i));
+            if (symbol < 0) {
+                state = ROOT;
+                continue;
+            }
+            state = transitions[state * sigma + symbol];
+            for (int output = pattern[state] >= 0 ? state : outputLink[state]; output >= 0; output = outputLink[output]) {
+                onMatch.accept(pattern[output]);
+            }
+        }
+    }
+
+    private int symbol(char c) {
+        if (c < ASCII) {
+            return asciiSymbols[c];
+        }
+        int symbol = Arrays.binarySearch(alphabet, c);
+        return symbol >= 0 ? symbol : -1;
+    }
+
+    private static char[] alphabetOf(String[] patterns, int totalLength) {
+        char[] chars = new char[totalLength];
+        int size = 0;
+        for (String pattern : patterns) {
+            pattern.getChars(0, pattern.length(), chars, size);
+            size += pattern.length();
+        }
+        Arrays.sort(chars);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || chars[i] != chars[distinct - 1]) {
+                chars[distinct++] = chars[i];
+            }
+        }
+        return Arrays.copyOf(chars, distinct);
+    }
+}
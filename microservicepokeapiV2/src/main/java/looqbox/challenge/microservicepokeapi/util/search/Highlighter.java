@@ -0,0 +1,127 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import java.util.Locale;
+
+/**
+ * Wraps every case-insensitive occurrence of a query in a name with {@code <pre>} tags, keeping the name's own
+ * casing. Matching runs on the lowercased name the caller already holds, starting from the offset its filter step
+ * found, and the markup is assembled in a per-thread buffer, so the only allocation per name is the result string.
+ */
+public final class Highlighter {
+
+    public static final String OPEN_TAG = "<pre>";
+    public static final String CLOSE_TAG = "</pre>";
+
+    // Buffers that grew past this are dropped instead of pooled, so one huge name cannot pin memory per thread.
+    private static final int MAX_POOLED_CAPACITY = 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    // Private constructor to prevent instantiation of this utility class.
+    private Highlighter() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Convenience overload for callers that have no lowercased name or match offset at hand.
+     */
+    public static String highlight(String name, String query) {
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        return highlight(name, name.toLowerCase(Locale.ROOT), lowerCaseQuery, -1);
+    }
+
+    /**
+     * @param name           The name as displayed.
+     * @param lowerCaseName  The name lowercased with {@link Locale#ROOT}.
+     * @param lowerCaseQuery The query lowercased with {@link Locale#ROOT}; must not be empty.
+     * @param firstMatch     Offset of the first match in {@code lowerCaseName} if already known, otherwise -1.
+     * @return The highlighted name, or the name itself when the query does not occur in it.
+     */
+    public static String highlight(String name, String lowerCaseName, String lowerCaseQuery, int firstMatch) {
+        if (lowerCaseName.length() != name.length()) {
+            // Lowercasing changed the length (e.g. 'İ'), so offsets in the lowercased name do not map back.
+            return highlightByRegion(name, lowerCaseQuery);
+        }
+        int match = firstMatch >= 0 ? firstMatch : lowerCaseName.indexOf(lowerCaseQuery);
+        if (match < 0) {
+            return name;
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        int queryLength = lowerCaseQuery.length();
+        int from = 0;
+        while (match >= 0) {
+            buffer.append(name, from, match).append(OPEN_TAG).append(name, match, match + queryLength).append(CLOSE_TAG);
+            from = match + queryLength;
+            match = lowerCaseName.indexOf(lowerCaseQuery, from);
+        }
+        buffer.append(name, from, name.length());
+        return release(buffer);
+    }
+
+    /**
+     * Highlights a fuzzy match: every run of the name's characters that an optimal edit alignment with the query
+     * keeps unchanged is wrapped in tags, so "charzard" marks "char" and "zard" in "charizard".
+     *
+     * @return The highlighted name, or the name itself when no character aligns.
+     */
+    public static String highlightAligned(String name, String lowerCaseName, String lowerCaseQuery) {
+        if (lowerCaseName.length() != name.length()) {
+            return name;
+        }
+        boolean[] matches = Levenshtein.alignedMatches(lowerCaseName, lowerCaseQuery);
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        boolean matched = false;
+        int i = 0;
+        while (i < name.length()) {
+            int runEnd = i;
+            while (runEnd < name.length() && matches[runEnd] == matches[i]) {
+                runEnd++;
+            }
+            if (matches[i]) {
+                buffer.append(OPEN_TAG).append(name, i, runEnd).append(CLOSE_TAG);
+                matched = true;
+            } else {
+                buffer.append(name, i, runEnd);
+            }
+            i = runEnd;
+        }
+        if (!matched) {
+            return name;
+        }
+        return release(buffer);
+    }
+
+    private static String highlightByRegion(String name, String lowerCaseQuery) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        int queryLength = lowerCaseQuery.length();
+        int from = 0;
+        boolean matched = false;
+        for (int i = 0; i + queryLength <= name.length(); ) {
+            if (name.regionMatches(true, i, lowerCaseQuery, 0, queryLength)) {
+                buffer.append(name, from, i).append(OPEN_TAG).append(name, i, i + queryLength).append(CLOSE_TAG);
+                i += queryLength;
+                from = i;
+                matched = true;
+            } else {
+                i++;
+            }
+        }
+        if (!matched) {
+            return name;
+        }
+        buffer.append(name, from, name.length());
+        return release(buffer);
+    }
+
+    private static String release(StringBuilder buffer) {
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+/**
+ * Logic Explanation:
+ * Levenshtein (edit) distance: the fewest single-character insertions, deletions and substitutions that turn one
+ * string into the other, computed with the classic dynamic programme over prefixes. Only two rows of the table are
+ * kept for the distance itself; {@link #alignedMatches} keeps the whole table to trace one optimal alignment back.
+ * Searching the Pokédex does not go through here: {@link PrefixTrie#fuzzySearch} runs the same programme along the
+ * trie, sharing rows between names with a common prefix.
+
+ * Big-θ Analysis:
+ * - Time: θ(m · n) for strings of lengths m and n.
+ * - Space: θ(n) for {@link #distance}, θ(m · n) for {@link #alignedMatches}.
+
+ * Disadvantages:
+ * - Quadratic per pair, so it is meant for a few names (highlighting a page), never for all of them.
+ */
+public final class Levenshtein {
+
+    // Private constructor to prevent instantiation of this utility class.
+    private Levenshtein() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Largest edit distance tolerated for a query of the given length: none up to 2 characters, one up to 5 and two
+     * beyond, so short queries do not match half of the Pokédex.
+     */
+    public static int maxEdits(int queryLength) {
+        if (queryLength <= 2) {
+            return 0;
+        }
+        return queryLength <= 5 ? 1 : 2;
+    }
+
+    public static int distance(String left, String right) {
+        int columns = right.length();
+        int[] previous = new int[columns + 1];
+        int[] current = new int[columns + 1];
+        for (int j = 0; j <= columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            char leftChar = left.charAt(i - 1);
+            for (int j = 1; j <= columns; j++) {
+                int substitution = previous[j - 1] + (leftChar == right.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[columns];
+    }
+
+    /**
+     * Returns, for every character of {@code term}, whether an optimal alignment with {@code query} keeps it
+     * unchanged. On ties the trace prefers keeping characters, so "charzard" against "charizard" keeps everything
+     * but the 'i'.
+     */
+    public static boolean[] alignedMatches(String term, String query) {
+        int rows = term.length();
+        int columns = query.length();
+        int[][] table = new int[rows + 1][columns + 1];
+        for (int i = 0; i <= rows; i++) {
+            table[i][0] = i;
+        }
+        for (int j = 0; j <= columns; j++) {
+            table[0][j] = j;
+        }
+        for (int i = 1; i <= rows; i++) {
+            for (int j = 1; j <= columns; j++) {
+                int substitution = table[i - 1][j - 1] + (term.charAt(i - 1) == query.charAt(j - 1) ? 0 : 1);
+                table[i][j] = Math.min(substitution, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+            }
+        }
+
+        boolean[] matches = new boolean[rows];
+        int i = rows;
+        int j = columns;
+        while (i > 0 && j > 0) {
+            if (term.charAt(i - 1) == query.charAt(j - 1) && table[i][j] == table[i - 1][j - 1]) {
+                matches[--i] = true;
+                j--;
+            } else if (table[i][j] == table[i - 1][j - 1] + 1) {
+                i--;
+                j--;
+            } else if (table[i][j] == table[i - 1][j] + 1) {
+                i--;
+            } else {
+                j--;
+            }
+        }
+        return matches;
+    }
+}
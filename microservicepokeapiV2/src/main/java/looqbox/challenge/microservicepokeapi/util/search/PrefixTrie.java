@@ -0,0 +1,301 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Logic Explanation:
+ * Compressed (radix) trie over a set of terms, stored in flat arrays. The terms are sorted once, so the completions
+ * of any prefix are a contiguous range of that order, and each node only records the range of the terms below it.
+ * Chains of single-child nodes are collapsed into one edge, and edge labels are not stored at all: a node's label is
+ * read from the first term of its range, which holds every character up to the node's depth.
+
+ * Layout:
+ * - order:                sorted position -> term id.
+ * - rangeStart, rangeEnd: terms below node i live in order[rangeStart[i] .. rangeEnd[i]).
+ * - depth:                length of the prefix shared by every term below node i.
+ * - firstChild, childCount, childLabel: children of a node are numbered contiguously (breadth first) and sorted by
+ *   their first edge character, which childLabel holds for a binary search.
+ * A radix trie has fewer than two nodes per distinct term, so the ~1,300 Pokémon names cost a few tens of KB.
+
+ * Big-θ Analysis:
+ * - Build: θ(n log n · m) for the sort, where m is the average term length, plus θ(n) node visits.
+ * - Query: θ(m log σ + c), where m is the prefix length, σ the alphabet size and c the number of completions copied.
+ * - Fuzzy query: see {@link #fuzzySearch}.
+
+ * Advantages:
+ * - A lookup walks at most one node per prefix character, with no allocation until the completions are copied.
+
+ * Disadvantages:
+ * - Immutable: a changed term set needs a full rebuild.
+ */
+public final class PrefixTrie {
+
+    private static final int ROOT = 0;
+
+    private final String[] terms;
+    private final int[] order;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+    private final int[] depth;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final char[] childLabel;
+    private final int maxTermLength;
+
+    private PrefixTrie(String[] terms, int[] order, int[] rangeStart, int[] rangeEnd, int[] depth, int[] firstChild,
+                       int[] childCount, char[] childLabel, int maxTermLength) {
+        this.terms = terms;
+        this.order = order;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.depth = depth;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.childLabel = childLabel;
+        this.maxTermLength = maxTermLength;
+    }
+
+    /**
+     * Builds the trie. The position of each term in the array is its id.
+     *
+     * @param terms Terms already normalized (e.g. lowercased) the same way prefixes will be.
+     */
+    public static PrefixTrie build(String[] terms) {
+        Objects.requireNonNull(terms, "Terms cannot be null.");
+
+        Integer[] sortedIds = new Integer[terms.length];
+        for (int id = 0; id < terms.length; id++) {
+            sortedIds[id] = id;
+        }
+        Arrays.sort(sortedIds, (left, right) -> terms[left].compareTo(terms[right]));
+        int[] order = new int[terms.length];
+        for (int position = 0; position < order.length; position++) {
+            order[position] = sortedIds[position];
+        }
+
+        int maxTermLength = 0;
+        for (String term : terms) {
+            maxTermLength = Math.max(maxTermLength, term.length());
+        }
+
+        int capacity = 2 * terms.length + 1;
+        int[] rangeStart = new int[capacity];
+        int[] rangeEnd = new int[capacity];
+        int[] depth = new int[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        char[] childLabel = new char[capacity];
+
+        // Nodes are appended breadth first, so the array itself is the queue and siblings end up contiguous.
+        rangeEnd[ROOT] = terms.length;
+        int nodeCount = 1;
+        for (int node = 0; node < nodeCount; node++) {
+            int start = rangeStart[node];
+            int end = rangeEnd[node];
+            if (start == end) {
+                continue;
+            }
+            String first = terms[order[start]];
+            // In sorted order, the prefix shared by a whole range is the one its first and last terms share.
+            int shared = commonPrefixLength(first, terms[order[end - 1]]);
+            depth[node] = shared;
+
+            int position = start;
+            while (position < end && terms[order[position]].length() == shared) {
+                position++;
+            }
+            firstChild[node] = nodeCount;
+            while (position < end) {
+                char label = terms[order[position]].charAt(shared);
+                int groupEnd = position + 1;
+                while (groupEnd < end && terms[order[groupEnd]].charAt(shared) == label) {
+                    groupEnd++;
+                }
+                rangeStart[nodeCount] = position;
+                rangeEnd[nodeCount] = groupEnd;
+                childLabel[nodeCount] = label;
+                nodeCount++;
+                position = groupEnd;
+            }
+            childCount[node] = nodeCount - firstChild[node];
+        }
+
+        return new PrefixTrie(terms, order, Arrays.copyOf(rangeStart, nodeCount), Arrays.copyOf(rangeEnd, nodeCount),
+                Arrays.copyOf(depth, nodeCount), Arrays.copyOf(firstChild, nodeCount),
+                Arrays.copyOf(childCount, nodeCount), Arrays.copyOf(childLabel, nodeCount), maxTermLength);
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public int nodeCount() {
+        return depth.length;
+    }
+
+    /**
+     * Returns the ids of every term that starts with the prefix, in the terms' natural (alphabetical) order. An empty
+     * prefix completes to every term.
+     *
+     * @param prefix A prefix normalized like the indexed terms.
+     */
+    public int[] complete(String prefix) {
+        int node = find(prefix);
+        return node < 0 ? new int[0] : Arrays.copyOfRange(order, rangeStart[node], rangeEnd[node]);
+    }
+
+    /**
+     * Number of terms that start with the prefix.
+     */
+    public int count(String prefix) {
+        int node = find(prefix);
+        return node < 0 ? 0 : rangeEnd[node] - rangeStart[node];
+    }
+
+    /**
+     * Returns every term within {@code maxDistance} edits of the query, each packed as {@code distance << 32 | id},
+     * in ascending order: closest first, then by id.
+     * <p>
+     * Logic Explanation:
+     * Walks the trie depth first while simulating a Levenshtein automaton for the query: each character along an
+     * edge extends one row of the edit-distance table, which is shared by every term below that character. A branch
+     * is abandoned as soon as the smallest value of its row exceeds {@code maxDistance}, since no completion of that
+     * prefix can get closer. Terms ending at a node read their distance from the last cell of the row. Only the cells
+     * within {@code maxDistance} of the table's diagonal are computed, since every other cell exceeds it.
+     * <p>
+     * Big-θ Analysis:
+     * - Time: θ(c · k), where c is the number of trie characters reached before pruning and k the bound, against
+     *   θ(n · m · l) to measure each of n names of length l against a query of length m.
+     *
+     * @param query A query normalized like the indexed terms.
+     */
+    public long[] fuzzySearch(String query, int maxDistance) {
+        Objects.requireNonNull(query, "Query cannot be null.");
+        if (terms.length == 0 || maxDistance < 0) {
+            return new long[0];
+        }
+        int columns = query.length() + 1;
+        // rows[d] is the table row after the first d characters of the current path; a path never gets deeper than
+        // the query plus maxDistance before its band runs out.
+        int[][] rows = new int[Math.min(maxTermLength, query.length() + maxDistance) + 1][columns];
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+        long[] matches = new long[16];
+        int[] matchCount = new int[1];
+        matches = collect(ROOT, 0, query, maxDistance, rows, matches, matchCount);
+
+        long[] result = Arrays.copyOf(matches, matchCount[0]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Extends the rows along the edge into {@code node}, which starts at depth {@code from}, then collects the terms
+     * ending at the node and descends into its children.
+     */
+    private long[] collect(int node, int from, String query, int maxDistance, int[][] rows, long[] matches, int[] matchCount) {
+        if (rangeStart[node] == rangeEnd[node]) {
+            return matches;
+        }
+        String representative = terms[order[rangeStart[node]]];
+        int lastColumn = query.length();
+        int outOfReach = maxDistance + 1;
+        for (int d = from; d < depth[node]; d++) {
+            int row = d + 1;
+            // Cells further than maxDistance from the diagonal exceed it anyway, so only the band is computed and
+            // its two borders are set to a value out of reach.
+            if (row - maxDistance > lastColumn) {
+                return matches;
+            }
+            int low = Math.max(1, row - maxDistance);
+            int high = Math.min(lastColumn, row + maxDistance);
+            int[] previous = rows[d];
+            int[] current = rows[row];
+            char c = representative.charAt(d);
+            current[low - 1] = low == 1 ? row : outOfReach;
+            int rowMinimum = current[low - 1];
+            for (int j = low; j <= high; j++) {
+                int substitution = previous[j - 1] + (c == query.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (high < lastColumn) {
+                current[high + 1] = outOfReach;
+            }
+            if (rowMinimum > maxDistance) {
+                return matches;
+            }
+        }
+
+        int nodeDepth = depth[node];
+        int distance = Math.abs(nodeDepth - lastColumn) <= maxDistance ? rows[nodeDepth][lastColumn] : outOfReach;
+        if (distance <= maxDistance) {
+            for (int position = rangeStart[node];
+                 position < rangeEnd[node] && terms[order[position]].length() == nodeDepth; position++) {
+                if (matchCount[0] == matches.length) {
+                    matches = Arrays.copyOf(matches, matchCount[0] * 2);
+                }
+                matches[matchCount[0]++] = ((long) distance << 32) | order[position];
+            }
+        }
+        for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+            matches = collect(child, depth[node], query, maxDistance, rows, matches, matchCount);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the shallowest node whose terms all start with the prefix, or -1 if no term does.
+     */
+    private int find(String prefix) {
+        Objects.requireNonNull(prefix, "Prefix cannot be null.");
+        int node = ROOT;
+        int matched = 0;
+        while (true) {
+            if (rangeStart[node] == rangeEnd[node]) {
+                return -1;
+            }
+            String representative = terms[order[rangeStart[node]]];
+            int edgeEnd = Math.min(depth[node], prefix.length());
+            for (; matched < edgeEnd; matched++) {
+                if (representative.charAt(matched) != prefix.charAt(matched)) {
+                    return -1;
+                }
+            }
+            if (matched == prefix.length()) {
+                return node;
+            }
+            node = child(node, prefix.charAt(matched));
+            if (node < 0) {
+                return -1;
+            }
+        }
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (childLabel[middle] < label) {
+                low = middle + 1;
+            } else if (childLabel[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static int commonPrefixLength(String left, String right) {
+        int length = Math.min(left.length(), right.length());
+        int shared = 0;
+        while (shared < length && left.charAt(shared) == right.charAt(shared)) {
+            shared++;
+        }
+        return shared;
+    }
+}
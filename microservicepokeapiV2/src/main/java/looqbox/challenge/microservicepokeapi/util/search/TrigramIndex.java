@@ -0,0 +1,279 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Logic Explanation:
+ * Inverted index from every 3-character substring (trigram) of a set of terms to the ids of the terms that contain it.
+ * A substring query of length m >= 3 can only match terms that contain all of its m - 2 trigrams, so the candidates
+ * are the intersection of those posting lists; each candidate is then verified with {@link String#contains}.
+
+ * Layout:
+ * - grams:    sorted, distinct trigram keys (three UTF-16 chars packed into a long).
+ * - offsets:  postings of grams[i] live in postings[offsets[i] .. offsets[i + 1]).
+ * - postings: term ids, ascending within each list.
+ * Everything is a primitive array, so the index costs a few hundred KB for the ~1,300 Pokémon names.
+
+ * Big-θ Analysis:
+ * - Build: θ(L log L), where L is the total number of trigrams across all terms.
+ * - Query: θ(g log G + p), where g is the number of query trigrams, G the number of distinct trigrams and p the
+ *   length of the shortest posting list involved.
+ */
+public final class TrigramIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private final String[] terms;
+    private final long[] grams;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private TrigramIndex(String[] terms, long[] grams, int[] offsets, int[] postings) {
+        this.terms = terms;
+        this.grams = grams;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds the index. The position of each term in the array is its id.
+     *
+     * @param terms Terms already normalized (e.g. lowercased) the same way queries will be.
+     */
+    public static TrigramIndex build(String[] terms) {
+        Objects.requireNonNull(terms, "Terms cannot be null.");
+
+        int total = 0;
+        for (String term : terms) {
+            total += Math.max(0, term.length() - GRAM_LENGTH + 1);
+        }
+
+        long[] allGrams = new long[total];
+        int size = 0;
+        for (String term : terms) {
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                allGrams[size++] = gramAt(term, i);
+            }
+        }
+        long[] grams = distinctSorted(allGrams);
+
+        // First pass counts each term once per distinct gram, second pass fills the posting lists in id order.
+        int[] lastSeen = new int[grams.length];
+        Arrays.fill(lastSeen, -1);
+        int[] offsets = new int[grams.length + 1];
+        for (int id = 0; id < terms.length; id++) {
+            String term = terms[id];
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                int gramIndex = Arrays.binarySearch(grams, gramAt(term, i));
+                if (lastSeen[gramIndex] != id) {
+                    lastSeen[gramIndex] = id;
+                    offsets[gramIndex + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < grams.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] postings = new int[offsets[grams.length]];
+        int[] cursor = Arrays.copyOf(offsets, grams.length);
+        Arrays.fill(lastSeen, -1);
+        for (int id = 0; id < terms.length; id++) {
+            String term = terms[id];
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                int gramIndex = Arrays.binarySearch(grams, gramAt(term, i));
+                if (lastSeen[gramIndex] != id) {
+                    lastSeen[gramIndex] = id;
+                    postings[cursor[gramIndex]++] = id;
+                }
+            }
+        }
+
+        return new TrigramIndex(terms, grams, offsets, postings);
+    }
+
+    /**
+     * Derives the index of a changed term set from this one without re-tokenizing the terms that survived.
+     * <p>
+     * Logic Explanation:
+     * Only the added terms are tokenized, into a small index of their own. Its grams and this index's grams are both
+     * sorted, so one merge pass yields the new gram set; for each gram the surviving old ids are renumbered through
+     * {@code oldToNew} and merged with the added ids. Grams left without postings are dropped.
+     * <p>
+     * Big-θ Analysis:
+     * - Time: θ(P + A log A), where P is the number of postings in this index and A the trigrams of the added terms,
+     *   against θ(L log L) over every term for {@link #build}.
+     *
+     * @param terms    The new term set, normalized like the indexed terms.
+     * @param oldToNew For every id of this index, its id in {@code terms}, or -1 if the term was removed. Surviving
+     *                 ids must keep their relative order so posting lists stay ascending.
+     * @param addedIds Ids in {@code terms}, ascending, of the terms that are not in this index.
+     */
+    public TrigramIndex patch(String[] terms, int[] oldToNew, int[] addedIds) {
+        Objects.requireNonNull(terms, "Terms cannot be null.");
+        if (oldToNew.length != this.terms.length) {
+            throw new IllegalArgumentException("Expected one mapping per indexed term.");
+        }
+
+        String[] addedTerms = new String[addedIds.length];
+        for (int i = 0; i < addedIds.length; i++) {
+            addedTerms[i] = terms[addedIds[i]];
+        }
+        TrigramIndex delta = build(addedTerms);
+
+        long[] mergedGrams = new long[grams.length + delta.grams.length];
+        int[] mergedOffsets = new int[mergedGrams.length + 1];
+        int[] mergedPostings = new int[postings.length + delta.postings.length];
+        int gramCount = 0;
+        int postingCount = 0;
+        int oldGram = 0;
+        int deltaGram = 0;
+        while (oldGram < grams.length || deltaGram < delta.grams.length) {
+            long gram;
+            int oldFrom = 0;
+            int oldTo = 0;
+            int deltaFrom = 0;
+            int deltaTo = 0;
+            if (deltaGram == delta.grams.length
+                    || (oldGram < grams.length && grams[oldGram] <= delta.grams[deltaGram])) {
+                gram = grams[oldGram];
+                oldFrom = offsets[oldGram];
+                oldTo = offsets[++oldGram];
+            } else {
+                gram = delta.grams[deltaGram];
+            }
+            if (deltaGram < delta.grams.length && delta.grams[deltaGram] == gram) {
+                deltaFrom = delta.offsets[deltaGram];
+                deltaTo = delta.offsets[++deltaGram];
+            }
+
+            int start = postingCount;
+            while (oldFrom < oldTo || deltaFrom < deltaTo) {
+                int oldId = oldFrom < oldTo ? oldToNew[postings[oldFrom]] : Integer.MAX_VALUE;
+                if (oldFrom < oldTo && oldId < 0) {
+                    oldFrom++;
+                    continue;
+                }
+                int addedId = deltaFrom < deltaTo ? addedIds[delta.postings[deltaFrom]] : Integer.MAX_VALUE;
+                if (oldId < addedId) {
+                    mergedPostings[postingCount++] = oldId;
+                    oldFrom++;
+                } else {
+                    mergedPostings[postingCount++] = addedId;
+                    deltaFrom++;
+                }
+            }
+            if (postingCount > start) {
+                mergedGrams[gramCount++] = gram;
+                mergedOffsets[gramCount] = postingCount;
+            }
+        }
+
+        return new TrigramIndex(terms, Arrays.copyOf(mergedGrams, gramCount), Arrays.copyOf(mergedOffsets, gramCount + 1),
+                Arrays.copyOf(mergedPostings, postingCount));
+    }
+
+    /**
+     * Whether the query is long enough to be answered from the index; shorter queries need a scan.
+     */
+    public static boolean supports(String query) {
+        return query != null && query.length() >= GRAM_LENGTH;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public String term(int id) {
+        return terms[id];
+    }
+
+    /**
+     * Returns, in ascending order, the ids of every term that contains the query.
+     *
+     * @param query A query normalized like the indexed terms, at least {@link #GRAM_LENGTH} characters long.
+     * @throws IllegalArgumentException If the query is too short to be answered from the index.
+     */
+    public int[] search(String query) {
+        if (!supports(query)) {
+            throw new IllegalArgumentException("Query must have at least " + GRAM_LENGTH + " characters.");
+        }
+
+        int gramCount = query.length() - GRAM_LENGTH + 1;
+        int[] gramIndexes = new int[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            int gramIndex = Arrays.binarySearch(grams, gramAt(query, i));
+            if (gramIndex < 0) {
+                return new int[0];
+            }
+            gramIndexes[i] = gramIndex;
+        }
+
+        // Intersect starting from the shortest list so the working set only shrinks.
+        int shortest = 0;
+        for (int i = 1; i < gramCount; i++) {
+            if (postingLength(gramIndexes[i]) < postingLength(gramIndexes[shortest])) {
+                shortest = i;
+            }
+        }
+        int start = offsets[gramIndexes[shortest]];
+        int[] candidates = Arrays.copyOfRange(postings, start, start + postingLength(gramIndexes[shortest]));
+        int candidateCount = candidates.length;
+        for (int i = 0; i < gramCount && candidateCount > 0; i++) {
+            if (i != shortest) {
+                candidateCount = intersect(candidates, candidateCount, gramIndexes[i]);
+            }
+        }
+
+        // Trigrams match out of position ("abcxbcd" holds every trigram of "abcd"), so verify each candidate.
+        int matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (terms[candidates[i]].contains(query)) {
+                candidates[matchCount++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matchCount);
+    }
+
+    private int postingLength(int gramIndex) {
+        return offsets[gramIndex + 1] - offsets[gramIndex];
+    }
+
+    /**
+     * Keeps, in place, the candidates that also appear in the posting list of the given gram.
+     */
+    private int intersect(int[] candidates, int candidateCount, int gramIndex) {
+        int postingIndex = offsets[gramIndex];
+        int postingEnd = offsets[gramIndex + 1];
+        int kept = 0;
+        for (int i = 0; i < candidateCount && postingIndex < postingEnd; i++) {
+            int candidate = candidates[i];
+            while (postingIndex < postingEnd && postings[postingIndex] < candidate) {
+                postingIndex++;
+            }
+            if (postingIndex < postingEnd && postings[postingIndex] == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    private static long gramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static long[] distinctSorted(long[] values) {
+        if (values.length == 0) {
+            return values;
+        }
+        Arrays.sort(values);
+        int distinct = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[distinct - 1]) {
+                values[distinct++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, distinct);
+    }
+}
@@ -0,0 +1,169 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+
+/**
+ * Logic Explanation:
+ * IntroSort is a QuickSort that watches its own recursion depth. Each partition step picks the median of the
+ * first, middle and last elements as pivot and splits the range in three: smaller than, equal to and greater than
+ * the pivot (Dutch national flag), so runs of equal keys, such as names of the same length, are finished in a
+ * single pass. Ranges of at most INSERTION_SORT_THRESHOLD elements are left to insertion sort, and once the depth
+ * exceeds 2·log₂(n) the remaining range is handed to HeapSort. The smaller side is recursed into and the larger one
+ * is looped on, so the stack never holds more than log₂(n) frames.
+
+ * Big-θ Analysis:
+ * - Best Case: θ(n) when all keys are equal, because three-way partitioning ends after one pass.
+ * - Average Case: θ(n log n).
+ * - Worst Case: θ(n log n), guaranteed by the HeapSort fallback.
+
+ * Advantages:
+ * - In-place on a backing array: no per-swap bounds checks or List.get/set calls.
+ * - Sorted, reverse-sorted and duplicate-heavy inputs no longer degrade to θ(n²).
+
+ * Disadvantages:
+ * - Not stable (relative order of equal elements may not be preserved); use {@link NaturalMergeSort} when it matters.
+ */
+public final class IntroSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private IntroSort() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Sorts a list by copying it to an array, sorting the array and writing the elements back.
+     *
+     * @param items      The list to sort.
+     * @param comparator The comparator defining the sorting criteria.
+     */
+    public static <T> void sort(List<T> items, Comparator<? super T> comparator) {
+        Objects.requireNonNull(items, "List of items cannot be null.");
+        Objects.requireNonNull(comparator, "Comparator cannot be null.");
+
+        @SuppressWarnings("unchecked")
+        T[] array = (T[]) items.toArray();
+        sort(array, 0, array.length, comparator);
+        writeBack(items, array);
+    }
+
+    /**
+     * Sorts the range [from, to) of an array in place.
+     */
+    public static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        Objects.checkFromToIndex(from, to, array.length);
+        int size = to - from;
+        if (size < 2) {
+            return;
+        }
+        introSort(array, from, to - 1, 2 * (31 - Integer.numberOfLeadingZeros(size)), comparator);
+    }
+
+    private static <T> void introSort(T[] array, int low, int high, int depthLimit, Comparator<? super T> comparator) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(array, low, high, comparator);
+                return;
+            }
+
+            T pivot = medianOfThree(array, low, low + ((high - low) >>> 1), high, comparator);
+
+            // Invariant: [low, lessEnd) < pivot, [lessEnd, i) == pivot, (greaterStart, high] > pivot.
+            int lessEnd = low;
+            int greaterStart = high;
+            int i = low;
+            while (i <= greaterStart) {
+                int order = comparator.compare(array[i], pivot);
+                if (order < 0) {
+                    swap(array, lessEnd++, i++);
+                } else if (order > 0) {
+                    swap(array, i, greaterStart--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lessEnd - low < high - greaterStart) {
+                introSort(array, low, lessEnd - 1, depthLimit, comparator);
+                low = greaterStart + 1;
+            } else {
+                introSort(array, greaterStart + 1, high, depthLimit, comparator);
+                high = lessEnd - 1;
+            }
+        }
+        insertionSort(array, low, high, comparator);
+    }
+
+    /**
+     * Orders the three samples in place and returns the middle one.
+     */
+    private static <T> T medianOfThree(T[] array, int low, int middle, int high, Comparator<? super T> comparator) {
+        if (comparator.compare(array[middle], array[low]) < 0) {
+            swap(array, low, middle);
+        }
+        if (comparator.compare(array[high], array[middle]) < 0) {
+            swap(array, middle, high);
+            if (comparator.compare(array[middle], array[low]) < 0) {
+                swap(array, low, middle);
+            }
+        }
+        return array[middle];
+    }
+
+    static <T> void insertionSort(T[] array, int low, int high, Comparator<? super T> comparator) {
+        for (int i = low + 1; i <= high; i++) {
+            T current = array[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(array[j], current) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = current;
+        }
+    }
+
+    private static <T> void heapSort(T[] array, int low, int high, Comparator<? super T> comparator) {
+        int size = high - low + 1;
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(array, low, parent, size, comparator);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(array, low, low + end);
+            siftDown(array, low, 0, end, comparator);
+        }
+    }
+
+    private static <T> void siftDown(T[] array, int offset, int parent, int size, Comparator<? super T> comparator) {
+        T value = array[offset + parent];
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && comparator.compare(array[offset + child + 1], array[offset + child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(array[offset + child], value) <= 0) {
+                break;
+            }
+            array[offset + parent] = array[offset + child];
+            parent = child;
+        }
+        array[offset + parent] = value;
+    }
+
+    private static void swap(Object[] array, int left, int right) {
+        Object temp = array[left];
+        array[left] = array[right];
+        array[right] = temp;
+    }
+
+    static <T> void writeBack(List<T> items, T[] array) {
+        ListIterator<T> iterator = items.listIterator();
+        for (T element : array) {
+            iterator.next();
+            iterator.set(element);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Logic Explanation:
+ * A stable, TimSort-like merge sort. The input is first split into natural runs: maximal ascending stretches, and
+ * strictly descending stretches that are reversed in place (strictness keeps equal elements in order). Runs shorter
+ * than MIN_RUN are extended with binary insertion sort. Runs are then merged pairwise, bottom-up, through a single
+ * buffer; a merge is skipped when the last element of the left run already precedes the first of the right run.
+
+ * Big-θ Analysis:
+ * - Best Case: θ(n) for input that is already sorted (or reverse sorted): one run, no merges.
+ * - Average Case: θ(n log n).
+ * - Worst Case: θ(n log n).
+
+ * Advantages:
+ * - Stable: equal elements keep their original relative order.
+ * - Takes advantage of presorted stretches in the input.
+
+ * Disadvantages:
+ * - Needs an auxiliary buffer of n references.
+ */
+public final class NaturalMergeSort {
+
+    private static final int MIN_RUN = 32;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private NaturalMergeSort() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Sorts a list by copying it to an array, sorting the array and writing the elements back.
+     *
+     * @param items      The list to sort.
+     * @param comparator The comparator defining the sorting criteria.
+     */
+    public static <T> void sort(List<T> items, Comparator<? super T> comparator) {
+        Objects.requireNonNull(items, "List of items cannot be null.");
+        Objects.requireNonNull(comparator, "Comparator cannot be null.");
+
+        @SuppressWarnings("unchecked")
+        T[] array = (T[]) items.toArray();
+        sort(array, 0, array.length, comparator);
+        IntroSort.writeBack(items, array);
+    }
+
+    /**
+     * Sorts the range [from, to) of an array, preserving the order of equal elements.
+     */
+    public static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        Objects.checkFromToIndex(from, to, array.length);
+        if (to - from < 2) {
+            return;
+        }
+
+        int[] runStarts = new int[(to - from) / 2 + 2];
+        int runCount = 0;
+        int start = from;
+        while (start < to) {
+            int end = runEnd(array, start, to, comparator);
+            if (end - start < MIN_RUN) {
+                int forcedEnd = Math.min(to, start + MIN_RUN);
+                binaryInsertionSort(array, start, end, forcedEnd, comparator);
+                end = forcedEnd;
+            }
+            runStarts[runCount++] = start;
+            start = end;
+        }
+        runStarts[runCount] = to;
+
+        T[] buffer = Arrays.copyOf(array, array.length);
+        while (runCount > 1) {
+            int merged = 0;
+            for (int run = 0; run < runCount; run += 2) {
+                int low = runStarts[run];
+                if (run + 1 < runCount) {
+                    merge(array, buffer, low, runStarts[run + 1], runStarts[run + 2], comparator);
+                }
+                runStarts[merged++] = low;
+            }
+            runStarts[merged] = to;
+            runCount = merged;
+        }
+    }
+
+    /**
+     * Returns the exclusive end of the natural run starting at {@code start}, reversing it first if it descends.
+     */
+    private static <T> int runEnd(T[] array, int start, int to, Comparator<? super T> comparator) {
+        int end = start + 1;
+        if (end == to) {
+            return end;
+        }
+        if (comparator.compare(array[end++], array[start]) < 0) {
+            while (end < to && comparator.compare(array[end], array[end - 1]) < 0) {
+                end++;
+            }
+            reverse(array, start, end - 1);
+        } else {
+            while (end < to && comparator.compare(array[end], array[end - 1]) >= 0) {
+                end++;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Inserts the elements of [sortedEnd, to) into the sorted prefix [from, sortedEnd), each one after any equal
+     * element already placed, which keeps the sort stable.
+     */
+    private static <T> void binaryInsertionSort(T[] array, int from, int sortedEnd, int to, Comparator<? super T> comparator) {
+        for (int i = sortedEnd; i < to; i++) {
+            T current = array[i];
+            int low = from;
+            int high = i;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(current, array[middle]) < 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            System.arraycopy(array, low, array, low + 1, i - low);
+            array[low] = current;
+        }
+    }
+
+    /**
+     * Merges the adjacent sorted ranges [low, middle) and [middle, high), using the same range of the buffer.
+     */
+    static <T> void merge(T[] array, T[] buffer, int low, int middle, int high, Comparator<? super T> comparator) {
+        if (comparator.compare(array[middle - 1], array[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(array, low, buffer, low, middle - low);
+        int left = low;
+        int right = middle;
+        int out = low;
+        while (left < middle && right < high) {
+            // Ties take the left element, which keeps the merge stable.
+            array[out++] = comparator.compare(array[right], buffer[left]) < 0 ? array[right++] : buffer[left++];
+        }
+        System.arraycopy(buffer, left, array, out, middle - left);
+    }
+
+    private static void reverse(Object[] array, int low, int high) {
+        while (low < high) {
+            Object temp = array[low];
+            array[low++] = array[high];
+            array[high--] = temp;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+
+/**
+ * Logic Explanation:
+ * Sorts names through primitive keys computed once per call, instead of invoking a comparator per comparison.
+ * Both sorts return an index permutation (order[i] = index of the i-th smallest name) and are stable.
+ * <p>
+ * - Alphabetical: the first eight chars of each name are packed into a long, one byte per char, and short names
+ *   are padded with zeros. A char of 0xFF or above is stored as 0xFF and ends the prefix. The packed keys therefore
+ *   order names the way {@link String#compareTo} does, except that names sharing a key may still differ further on. The index
+ *   array is LSD radix sorted on the key bytes, skipping bytes on which every key agrees, and only runs of equal keys
+ *   are then finished with a full string comparison.
+ * - Length: names are at most a few dozen chars long, so a counting sort over the lengths places each index directly.
+
+ * Big-θ Analysis:
+ * - Alphabetical: θ(8n) for the radix passes, plus an insertion sort of each run of names sharing the same
+ *   eight-char prefix, which is θ(n) in total when prefixes are mostly distinct, as Pokémon names are.
+ * - Length: θ(n + L), where L is the longest name.
+
+ * Advantages:
+ * - No comparator lambdas, getters or String.compareTo calls on the hot path.
+
+ * Disadvantages:
+ * - Only applies to keys derived from strings; other orderings still need a comparator engine.
+ */
+public final class PackedKeySort {
+
+    private static final int PREFIX_CHARS = 8;
+    private static final int RADIX = 256;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private PackedKeySort() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Packs the first eight chars of a name into a long whose unsigned order matches the names' order.
+     */
+    public static long prefixKey(String name) {
+        long key = 0;
+        int length = Math.min(name.length(), PREFIX_CHARS);
+        int i = 0;
+        while (i < length) {
+            char current = name.charAt(i++);
+            if (current >= 0xFF) {
+                // A clamped char loses its order against other clamped chars, so nothing after it may count.
+                key = key << 8 | 0xFF;
+                break;
+            }
+            key = key << 8 | current;
+        }
+        return key << 8 * (PREFIX_CHARS - i);
+    }
+
+    /**
+     * Returns the permutation that sorts the names as {@link String#compareTo} would, keeping equal names in order.
+     */
+    public static int[] alphabeticalOrder(String[] names) {
+        Objects.requireNonNull(names, "Names cannot be null.");
+        int size = names.length;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = prefixKey(names[i]);
+        }
+
+        int[] order = identity(size);
+        if (size < 2) {
+            return order;
+        }
+        int[] scratch = new int[size];
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int index : order) {
+                counts[(int) (keys[index] >>> shift) & 0xFF]++;
+            }
+            if (counts[(int) (keys[0] >>> shift) & 0xFF] == size) {
+                continue;
+            }
+            for (int bucket = 0, start = 0; bucket < RADIX; bucket++) {
+                int count = counts[bucket];
+                counts[bucket] = start;
+                start += count;
+            }
+            for (int index : order) {
+                scratch[counts[(int) (keys[index] >>> shift) & 0xFF]++] = index;
+            }
+            int[] sorted = scratch;
+            scratch = order;
+            order = sorted;
+        }
+
+        int runStart = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i == size || keys[order[i]] != keys[order[runStart]]) {
+                if (i - runStart > 1) {
+                    insertionSortByName(order, runStart, i, names);
+                }
+                runStart = i;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Returns the permutation that sorts the names by length, keeping names of the same length in order.
+     */
+    public static int[] lengthOrder(String[] names) {
+        Objects.requireNonNull(names, "Names cannot be null.");
+        int maxLength = 0;
+        for (String name : names) {
+            maxLength = Math.max(maxLength, name.length());
+        }
+
+        int[] starts = new int[maxLength + 2];
+        for (String name : names) {
+            starts[name.length() + 1]++;
+        }
+        for (int length = 1; length < starts.length; length++) {
+            starts[length] += starts[length - 1];
+        }
+        int[] order = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            order[starts[names[i].length()]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Rearranges the list so that its i-th element becomes the element previously at {@code order[i]}.
+     */
+    public static <T> void permute(List<T> items, int[] order) {
+        Object[] snapshot = items.toArray();
+        ListIterator<T> iterator = items.listIterator();
+        for (int index : order) {
+            iterator.next();
+            @SuppressWarnings("unchecked")
+            T element = (T) snapshot[index];
+            iterator.set(element);
+        }
+    }
+
+    private static void insertionSortByName(int[] order, int from, int to, String[] names) {
+        for (int i = from + 1; i < to; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= from && names[order[j]].compareTo(names[current]) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    private static int[] identity(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,97 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logic Explanation:
+ * A fork-join merge sort. The array is halved recursively until a range is no larger than the granularity; those
+ * leaves are sorted with {@link NaturalMergeSort} in parallel, and each pair of sorted halves is merged once both
+ * sides have completed. Leaves and merges are both stable, so the result is too.
+
+ * Big-θ Analysis:
+ * - Work: θ(n log n) comparisons, as in a sequential merge sort.
+ * - Span: θ(n) with p workers, since the final merge is sequential; the speed-up comes from the leaf sorts and the
+ *   lower merge levels, which together make up most of the work.
+
+ * Advantages:
+ * - Uses every worker of the pool for large inputs; stable.
+
+ * Disadvantages:
+ * - Needs an auxiliary buffer of n references, and task overhead makes it slower than a sequential sort for small
+ *   inputs, which is why callers should only use it above a size threshold.
+ */
+public final class ParallelMergeSort {
+
+    private static final int MIN_GRANULARITY = 8192;
+    private static final int TASKS_PER_WORKER = 4;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private ParallelMergeSort() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Sorts a list on the given pool by copying it to an array, sorting the array and writing the elements back.
+     * The calling thread blocks until the sort completes.
+     */
+    public static <T> void sort(List<T> items, Comparator<? super T> comparator, ForkJoinPool pool) {
+        Objects.requireNonNull(items, "List of items cannot be null.");
+        Objects.requireNonNull(comparator, "Comparator cannot be null.");
+
+        @SuppressWarnings("unchecked")
+        T[] array = (T[]) items.toArray();
+        int granularity = Math.max(MIN_GRANULARITY, array.length / (pool.getParallelism() * TASKS_PER_WORKER));
+        pool.invoke(new SortTask<>(array, array.clone(), 0, array.length, granularity, comparator));
+        IntroSort.writeBack(items, array);
+    }
+
+    /**
+     * Creates a pool of at most {@code parallelism} daemon workers. The upper bound is hard: the pool never adds
+     * compensation threads, so sorting cannot take more cores than it was given.
+     */
+    public static ForkJoinPool newPool(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("sort-worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false, 0, parallelism, 1, pool -> true, 60, TimeUnit.SECONDS);
+    }
+
+    private static final class SortTask<T> extends RecursiveAction {
+
+        private final T[] array;
+        private final T[] buffer;
+        private final int from;
+        private final int to;
+        private final int granularity;
+        private final Comparator<? super T> comparator;
+
+        SortTask(T[] array, T[] buffer, int from, int to, int granularity, Comparator<? super T> comparator) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                NaturalMergeSort.sort(array, from, to, comparator);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask<>(array, buffer, from, middle, granularity, comparator),
+                    new SortTask<>(array, buffer, middle, to, granularity, comparator));
+            NaturalMergeSort.merge(array, buffer, from, middle, to, comparator);
+        }
+    }
+}
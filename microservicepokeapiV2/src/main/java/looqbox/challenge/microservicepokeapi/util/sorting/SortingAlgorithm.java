@@ -0,0 +1,32 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The sorting engines a strategy can run its comparator on.
+ */
+public enum SortingAlgorithm {
+
+    /**
+     * {@link IntroSort}: in place and θ(n log n) in the worst case, but not stable.
+     */
+    INTROSORT {
+        @Override
+        public <T> void sort(List<T> items, Comparator<? super T> comparator) {
+            IntroSort.sort(items, comparator);
+        }
+    },
+
+    /**
+     * {@link NaturalMergeSort}: stable and linear on presorted input, at the cost of an n-sized buffer.
+     */
+    STABLE {
+        @Override
+        public <T> void sort(List<T> items, Comparator<? super T> comparator) {
+            NaturalMergeSort.sort(items, comparator);
+        }
+    };
+
+    public abstract <T> void sort(List<T> items, Comparator<? super T> comparator);
+}
@@ -6,9 +6,15 @@ import looqbox.challenge.microservicepokeapi.model.Pokemon;
 import looqbox.challenge.microservicepokeapi.util.sorting.strategy.AlphabeticalStrategy;
 import looqbox.challenge.microservicepokeapi.util.sorting.strategy.LengthStrategy;
 import looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces.SortingAlgorithmStrategyinInterface;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 
 @Component
@@ -19,20 +25,75 @@ public class SortingStrategyFactory {
             "length", new LengthStrategy()
     );
 
+    @Value("${sorting.parallel.enabled:true}")
+    private boolean parallelEnabled = true;
+    @Value("${sorting.parallel.threshold:50000}")
+    private int parallelThreshold = 50_000;
+    // 0 means half of the available processors, leaving the rest to the request threads.
+    @Value("${sorting.parallel.parallelism:0}")
+    private int parallelism = 0;
+
+    private volatile ForkJoinPool parallelPool;
+
+    /**
+     * Sorts a copy of the given list, leaving the input untouched so that shared (cached) lists are never mutated.
+     * Lists of at least {@code sorting.parallel.threshold} elements are merge sorted on a dedicated fork-join pool
+     * with the strategy's comparator; smaller ones are sorted sequentially by the strategy itself.
+     */
     public List<Pokemon> sort(List<Pokemon> pokemons, String sortType) {
-        String normalizedSortType = sortType != null ? sortType.trim().toLowerCase() : "";
-        SortingAlgorithmStrategyinInterface<Pokemon> strategy = mapStrategy.get(normalizedSortType);
+        SortingAlgorithmStrategyinInterface<Pokemon> strategy = mapStrategy.get(normalizeSortType(sortType));
+
+        List<Pokemon> sortedPokemons = new ArrayList<>(pokemons);
+        try {
+            if (parallelEnabled && sortedPokemons.size() >= parallelThreshold) {
+                ParallelMergeSort.sort(sortedPokemons, strategy.getComparator(), parallelPool());
+            } else {
+                strategy.sort(sortedPokemons);
+            }
+        } catch (Exception ex) {
+            throw new SortingException("An error occurred while sorting the Pokémon list", ex);
+        }
+
+        return sortedPokemons;
+    }
 
+    /**
+     * Validates the sort type and returns the key under which its strategy is registered.
+     *
+     * @throws InvalidSortingStrategyException If the sort type is blank or not registered.
+     */
+    public String normalizeSortType(String sortType) {
         if (sortType == null || sortType.trim().isEmpty()) {
             throw new InvalidSortingStrategyException("Sort type cannot be null or empty");
         }
 
-        try {
-            strategy.sort(pokemons);
-        } catch (Exception ex) {
-            throw new SortingException("An error occurred while sorting the Pokémon list", ex);
+        String normalizedSortType = sortType.trim().toLowerCase();
+        if (!mapStrategy.containsKey(normalizedSortType)) {
+            throw new InvalidSortingStrategyException("Unknown sort type: " + sortType);
         }
+        return normalizedSortType;
+    }
 
-        return pokemons;
+    public Comparator<Pokemon> getComparator(String sortType) {
+        return mapStrategy.get(normalizeSortType(sortType)).getComparator();
+    }
+
+    public Set<String> getStrategyNames() {
+        return mapStrategy.keySet();
+    }
+
+    private ForkJoinPool parallelPool() {
+        ForkJoinPool pool = parallelPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = parallelPool;
+                if (pool == null) {
+                    int workers = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    pool = ParallelMergeSort.newPool(workers);
+                    parallelPool = pool;
+                }
+            }
+        }
+        return pool;
     }
 }
@@ -0,0 +1,70 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Logic Explanation:
+ * Selects the k smallest values of an int array with a bounded max-heap: the first k values build the heap, and
+ * every later value smaller than the heap's root replaces it and is sifted down. The heap is finally sorted, giving
+ * the k smallest values in ascending order without ordering the rest of the input.
+
+ * Big-θ Analysis:
+ * - Best Case: θ(n + k log k), when no value after the first k enters the heap.
+ * - Average Case / Worst Case: θ(n log k).
+
+ * Advantages:
+ * - A page of k results costs θ(n log k) instead of the θ(n log n) of a full sort, with θ(k) extra space.
+
+ * Disadvantages:
+ * - Degrades to a plain heap sort as k approaches n.
+ */
+public final class TopK {
+
+    // Private constructor to prevent instantiation of this utility class.
+    private TopK() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Returns the min(k, length) smallest of {@code values[0..length)}, sorted ascending.
+     */
+    public static int[] smallest(int[] values, int length, int k) {
+        if (k <= 0 || length == 0) {
+            return new int[0];
+        }
+        if (k >= length) {
+            int[] all = Arrays.copyOf(values, length);
+            Arrays.sort(all);
+            return all;
+        }
+
+        int[] heap = Arrays.copyOf(values, k);
+        for (int parent = k / 2 - 1; parent >= 0; parent--) {
+            siftDown(heap, parent, k);
+        }
+        for (int i = k; i < length; i++) {
+            if (values[i] < heap[0]) {
+                heap[0] = values[i];
+                siftDown(heap, 0, k);
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    private static void siftDown(int[] heap, int parent, int size) {
+        int value = heap[parent];
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= value) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = value;
+    }
+}
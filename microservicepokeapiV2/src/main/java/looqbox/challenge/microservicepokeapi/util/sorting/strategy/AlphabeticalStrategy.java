@@ -1,18 +1,27 @@
 package looqbox.challenge.microservicepokeapi.util.sorting.strategy;
 
 import looqbox.challenge.microservicepokeapi.model.Pokemon;
-import looqbox.challenge.microservicepokeapi.util.sorting.QuickSort;
-import looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces.SortingAlgorithmStrategyinInterface;
+import looqbox.challenge.microservicepokeapi.util.sorting.PackedKeySort;
+import looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces.PackedKeyStrategy;
 
 import java.util.Comparator;
 import java.util.List;
 
-public class AlphabeticalStrategy implements SortingAlgorithmStrategyinInterface<Pokemon> {
+public class AlphabeticalStrategy implements PackedKeyStrategy<Pokemon> {
+
+    private static final Comparator<Pokemon> ALPHABETICAL_COMPARATOR = Comparator.comparing(Pokemon::getName);
+
     @Override
-    public void sort(List<Pokemon> items) {
-        if (items == null || items.size() <= 1) return;
-        Comparator<Pokemon> alphabeticalComparator = Comparator.comparing(Pokemon::getName);
-        QuickSort.sort(items,alphabeticalComparator);
+    public Comparator<Pokemon> getComparator() {
+        return ALPHABETICAL_COMPARATOR;
+    }
 
+    @Override
+    public int[] sortedOrder(List<Pokemon> items) {
+        String[] names = new String[items.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = items.get(i).getName();
+        }
+        return PackedKeySort.alphabeticalOrder(names);
     }
 }
@@ -1,21 +1,28 @@
 package looqbox.challenge.microservicepokeapi.util.sorting.strategy;
 
 import looqbox.challenge.microservicepokeapi.model.Pokemon;
-import looqbox.challenge.microservicepokeapi.util.sorting.QuickSort;
-import looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces.SortingAlgorithmStrategyinInterface;
+import looqbox.challenge.microservicepokeapi.util.sorting.PackedKeySort;
+import looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces.PackedKeyStrategy;
 
 import java.util.Comparator;
 import java.util.List;
 
-public class LengthStrategy implements SortingAlgorithmStrategyinInterface<Pokemon> {
+public class LengthStrategy implements PackedKeyStrategy<Pokemon> {
 
-    @Override
-    public void sort(List<Pokemon> items) {
-        if (items == null || items.size() <= 1) return;
-
-        Comparator<Pokemon> lengthComparator = Comparator.comparingInt(pokemon -> pokemon.getName().length());
+    private static final Comparator<Pokemon> LENGTH_COMPARATOR = Comparator.comparingInt(pokemon -> pokemon.getName().length());
 
-        QuickSort.sort(items, lengthComparator);
+    @Override
+    public Comparator<Pokemon> getComparator() {
+        return LENGTH_COMPARATOR;
+    }
 
+    // Hundreds of names share a length; the counting sort is stable, so they keep their Pokédex order.
+    @Override
+    public int[] sortedOrder(List<Pokemon> items) {
+        String[] names = new String[items.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = items.get(i).getName();
+        }
+        return PackedKeySort.lengthOrder(names);
     }
 }
@@ -0,0 +1,24 @@
+package looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces;
+
+import looqbox.challenge.microservicepokeapi.util.sorting.PackedKeySort;
+
+import java.util.List;
+
+/**
+ * A strategy that orders items through precomputed primitive keys rather than its comparator, so it never runs a
+ * comparator engine. The comparator remains the reference ordering, used where keys do not apply (e.g. parallel
+ * sorting).
+ */
+public interface PackedKeyStrategy<T> extends SortingAlgorithmStrategyinInterface<T> {
+
+    /**
+     * Returns the stable permutation that sorts the items: order[i] is the index of the i-th item in sort order.
+     */
+    int[] sortedOrder(List<T> items);
+
+    @Override
+    default void sort(List<T> items) {
+        if (items == null || items.size() <= 1) return;
+        PackedKeySort.permute(items, sortedOrder(items));
+    }
+}
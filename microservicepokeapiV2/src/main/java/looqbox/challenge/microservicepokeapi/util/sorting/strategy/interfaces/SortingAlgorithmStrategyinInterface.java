@@ -1,7 +1,24 @@
 package looqbox.challenge.microservicepokeapi.util.sorting.strategy.interfaces;
 
+import looqbox.challenge.microservicepokeapi.util.sorting.SortingAlgorithm;
+
+import java.util.Comparator;
 import java.util.List;
 
 public interface SortingAlgorithmStrategyinInterface<T> {
-    void sort(List<T> items);
-}
\ No newline at end of file
+
+    Comparator<T> getComparator();
+
+    /**
+     * The engine this strategy runs its comparator on; strategies whose keys tie often should prefer
+     * {@link SortingAlgorithm#STABLE} so tied elements keep a predictable order.
+     */
+    default SortingAlgorithm getAlgorithm() {
+        return SortingAlgorithm.INTROSORT;
+    }
+
+    default void sort(List<T> items) {
+        if (items == null || items.size() <= 1) return;
+        getAlgorithm().sort(items, getComparator());
+    }
+}
@@ -0,0 +1,25 @@
+package looqbox.challenge.microservicepokeapi;
+
+import looqbox.challenge.microservicepokeapi.controller.ReactivePokemonController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.profiles.active=reactive", "cache.pokedex.file-store.enabled=false"})
+class ReactiveProfileApplicationTests {
+
+	@Autowired
+	private ReactiveWebServerApplicationContext context;
+
+	@Test
+	void contextLoadsOnReactorNetty() {
+		assertNotNull(context.getBean(ReactivePokemonController.class));
+		assertInstanceOf(NettyWebServer.class, context.getWebServer());
+	}
+
+}
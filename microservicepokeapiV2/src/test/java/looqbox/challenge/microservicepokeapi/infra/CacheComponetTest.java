@@ -1,23 +1,28 @@
 package looqbox.challenge.microservicepokeapi.infra;
 
+import looqbox.challenge.microservicepokeapi.exception.CacheException;
 import looqbox.challenge.microservicepokeapi.exception.NullKeyException;
 import looqbox.challenge.microservicepokeapi.exception.NullValueException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class CacheComponetTest {
 
-    @InjectMocks
-    private CacheComponet<String, String> cacheService;
+    private final CacheComponet<String, String> cacheService = new CacheComponet<>();
 
     @Test
     @DisplayName("should store a value in cache with TTL")
@@ -52,6 +57,338 @@ class CacheComponetTest {
 
 
 
+    @Nested
+    @DisplayName("Single-flight loading")
+    class GetOrLoadTests {
+
+        @Test
+        @DisplayName("should load a missing key once and serve later calls from the cache")
+        void getOrLoad_shouldCacheLoadedValue() {
+            AtomicInteger loads = new AtomicInteger();
+
+            String first = cacheService.getOrLoad("pokemon", () -> "pikachu-" + loads.incrementAndGet(), 60_000);
+            String second = cacheService.getOrLoad("pokemon", () -> "pikachu-" + loads.incrementAndGet(), 60_000);
+
+            assertEquals("pikachu-1", first);
+            assertEquals("pikachu-1", second);
+            assertEquals(1, loads.get());
+        }
+
+        @Test
+        @DisplayName("should let concurrent callers wait on the in-flight load instead of loading again")
+        void getOrLoad_shouldCoalesceConcurrentLoads() throws Exception {
+            CountDownLatch loaderStarted = new CountDownLatch(1);
+            CountDownLatch releaseLoader = new CountDownLatch(1);
+            AtomicInteger loads = new AtomicInteger();
+
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> cacheService.getOrLoad("pokemon", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "pikachu";
+            }, 60_000));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                    () -> cacheService.getOrLoad("pokemon", () -> "charizard-" + loads.incrementAndGet(), 60_000));
+            while (cacheService.stats().coalescedLoads() == 0) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertEquals("pikachu", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("pikachu", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1, cacheService.stats().coalescedLoads());
+        }
+
+        @Test
+        @DisplayName("should throw CacheException when waiting on the in-flight load times out")
+        void getOrLoad_shouldTimeOutWaitingCallers() throws Exception {
+            CountDownLatch loaderStarted = new CountDownLatch(1);
+            CountDownLatch releaseLoader = new CountDownLatch(1);
+            cacheService.setLoadTimeout(50);
+
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> cacheService.getOrLoad("pokemon", () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "pikachu";
+            }, 60_000));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            assertThrows(CacheException.class, () -> cacheService.getOrLoad("pokemon", () -> "charizard", 60_000));
+            releaseLoader.countDown();
+            assertEquals("pikachu", leader.get(5, TimeUnit.SECONDS));
+        }
+
+        private void await(CountDownLatch latch) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Stale-while-revalidate")
+    class StaleWhileRevalidateTests {
+
+        @Test
+        @DisplayName("should serve the stale value past the soft TTL while refreshing in the background")
+        void getOrLoad_shouldServeStaleValueAndRefresh() throws Exception {
+            CacheRefreshPolicy policy = new CacheRefreshPolicy(0, 60_000, 60_000, 0);
+            cacheService.getOrLoad("pokemon", () -> "pikachu", policy);
+
+            String staleValue = cacheService.getOrLoad("pokemon", () -> "raichu", policy);
+
+            assertEquals("pikachu", staleValue);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!"raichu".equals(cacheService.get("pokemon")) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("raichu", cacheService.get("pokemon"));
+            assertEquals(1, cacheService.stats().staleHits());
+        }
+
+        @Test
+        @DisplayName("should keep serving the last good value when reloading fails within the maximum staleness")
+        void getOrLoad_shouldFallBackToLastGoodValue() {
+            AtomicLong time = new AtomicLong();
+            CacheComponet<String, String> cache = new CacheComponet<>(CacheComponet.UNBOUNDED, Weigher.singleton(), time::get);
+            CacheRefreshPolicy policy = new CacheRefreshPolicy(0, 0, 60_000, 0);
+            cache.getOrLoad("pokemon", () -> "pikachu", policy);
+            time.addAndGet(1);
+
+            String value = cache.getOrLoad("pokemon", () -> {
+                throw new IllegalStateException("upstream down");
+            }, policy);
+
+            assertEquals("pikachu", value);
+            assertEquals(1, cache.stats().failedRefreshes());
+        }
+
+        @Test
+        @DisplayName("should propagate the loader failure once the value is older than the maximum staleness")
+        void getOrLoad_shouldFailPastMaximumStaleness() {
+            AtomicLong time = new AtomicLong();
+            CacheComponet<String, String> cache = new CacheComponet<>(CacheComponet.UNBOUNDED, Weigher.singleton(), time::get);
+            CacheRefreshPolicy policy = new CacheRefreshPolicy(0, 0, 0, 0);
+            cache.getOrLoad("pokemon", () -> "pikachu", policy);
+            time.addAndGet(1);
+
+            assertThrows(IllegalStateException.class, () -> cache.getOrLoad("pokemon", () -> {
+                throw new IllegalStateException("upstream down");
+            }, policy));
+        }
+    }
+
+    @Nested
+    @DisplayName("Timer wheel expiry")
+    class ExpiryTests {
+
+        private final AtomicLong time = new AtomicLong(1_000_000);
+        private final CacheComponet<String, String> cache =
+                new CacheComponet<>(CacheComponet.UNBOUNDED, Weigher.singleton(), time::get);
+
+        @Test
+        @DisplayName("should drop expired entries on clean up without them being read")
+        void cleanUp_shouldRemoveExpiredEntries() {
+            cache.put("pikachu", "electric", 5_000);
+            cache.put("charizard", "fire", 120_000);
+
+            time.addAndGet(7_000);
+            cache.cleanUp();
+
+            assertEquals(1, cache.stats().size());
+            assertNull(cache.get("pikachu"));
+            assertEquals("fire", cache.get("charizard"));
+        }
+
+        @Test
+        @DisplayName("should not drop entries before their deadline")
+        void cleanUp_shouldKeepLiveEntries() {
+            cache.put("pikachu", "electric", 5_000);
+
+            time.addAndGet(4_000);
+            cache.cleanUp();
+
+            assertEquals(1, cache.stats().size());
+            assertEquals("electric", cache.get("pikachu"));
+        }
+
+        @Test
+        @DisplayName("should refresh hot entries ahead of their soft TTL")
+        void cleanUp_shouldRefreshHotEntriesAhead() throws Exception {
+            CacheRefreshPolicy policy = new CacheRefreshPolicy(60_000, 120_000, 120_000, 10_000);
+            AtomicInteger loads = new AtomicInteger();
+            cache.getOrLoad("pokemon", () -> "pikachu-" + loads.incrementAndGet(), policy);
+            cache.get("pokemon");
+
+            time.addAndGet(52_000);
+            cache.cleanUp();
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!"pikachu-2".equals(cache.get("pokemon")) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("pikachu-2", cache.get("pokemon"));
+            assertEquals(0, cache.stats().staleHits());
+        }
+    }
+
+    @Nested
+    @DisplayName("Second-level cache")
+    class SecondLevelCacheTests {
+
+        private final CacheRefreshPolicy policy = new CacheRefreshPolicy(60_000, 120_000, 180_000, 0);
+        private final Map<String, String> persisted = new ConcurrentHashMap<>(Map.of("pokemon", "pikachu"));
+        private long writtenAt;
+
+        private void persistedAgo(long age) {
+            writtenAt = System.currentTimeMillis() - age;
+            cacheService.setSecondLevelCache(new SecondLevelCache<>() {
+                @Override
+                public Persisted<String> read(String key) {
+                    String value = persisted.get(key);
+                    return value == null ? null : new Persisted<>(value, writtenAt);
+                }
+
+                @Override
+                public void write(String key, String value) {
+                    persisted.put(key, value);
+                }
+            });
+        }
+
+        @Test
+        @DisplayName("should answer a cold miss from a stale second level and revalidate it in the background")
+        void getOrLoad_shouldRestoreFromSecondLevel() throws Exception {
+            persistedAgo(90_000);
+
+            String value = cacheService.getOrLoad("pokemon", () -> "raichu", policy);
+
+            assertEquals("pikachu", value);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!"raichu".equals(persisted.get("pokemon")) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("raichu", cacheService.get("pokemon"));
+            assertEquals("raichu", persisted.get("pokemon"));
+        }
+
+        @Test
+        @DisplayName("should serve a second-level value within its soft TTL without revalidating it")
+        void getOrLoad_shouldNotRevalidateFreshSecondLevel() {
+            persistedAgo(1_000);
+            AtomicInteger loads = new AtomicInteger();
+
+            String value = cacheService.getOrLoad("pokemon", () -> "raichu" + loads.incrementAndGet(), policy);
+
+            assertEquals("pikachu", value);
+            assertEquals(0, cacheService.stats().refreshes());
+            assertEquals(0, loads.get());
+        }
+
+        @Test
+        @DisplayName("should load instead of serving a second-level value past its hard TTL")
+        void getOrLoad_shouldLoadOverExpiredSecondLevel() {
+            persistedAgo(150_000);
+
+            assertEquals("raichu", cacheService.getOrLoad("pokemon", () -> "raichu", policy));
+        }
+
+        @Test
+        @DisplayName("should fall back to a second-level value past its hard TTL only when the load fails")
+        void getOrLoad_shouldFallBackToExpiredSecondLevel() {
+            persistedAgo(150_000);
+
+            String value = cacheService.getOrLoad("pokemon", () -> {
+                throw new CacheException("PokéAPI is down");
+            }, policy);
+
+            assertEquals("pikachu", value);
+        }
+
+        @Test
+        @DisplayName("should ignore a second-level value past its maximum staleness")
+        void getOrLoad_shouldIgnoreSecondLevelPastMaximumStaleness() {
+            persistedAgo(200_000);
+
+            assertThrows(CacheException.class, () -> cacheService.getOrLoad("pokemon", () -> {
+                throw new CacheException("PokéAPI is down");
+            }, policy));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounded cache")
+    class BoundedCacheTests {
+
+        private final CacheComponet<String, String> boundedCache = new CacheComponet<>(100, (key, value) -> value.length());
+
+        @Test
+        @DisplayName("should evict entries once the total weight exceeds the maximum")
+        void put_shouldKeepWeightWithinMaximum() {
+            for (int i = 0; i < 50; i++) {
+                boundedCache.put("pokemon-" + i, "0123456789", 60_000);
+            }
+
+            assertTrue(boundedCache.stats().weightedSize() <= 100);
+            assertTrue(boundedCache.stats().evictions() >= 40);
+        }
+
+        @Test
+        @DisplayName("should keep a frequently read entry over a stream of one-off entries")
+        void put_shouldProtectFrequentlyReadEntries() {
+            boundedCache.put("pikachu", "0123456789", 60_000);
+            for (int i = 0; i < 200; i++) {
+                boundedCache.get("pikachu");
+            }
+
+            for (int i = 0; i < 200; i++) {
+                boundedCache.put("pokemon-" + i, "0123456789", 60_000);
+                boundedCache.get("pikachu");
+            }
+
+            assertEquals("0123456789", boundedCache.get("pikachu"));
+        }
+
+        @Test
+        @DisplayName("should keep the frequencies gathered while the cache was filling up")
+        void put_shouldRememberFrequenciesFromWarmUp() {
+            CacheComponet<String, String> cache = new CacheComponet<>(64, Weigher.singleton());
+            cache.put("pikachu", "pikachu", 60_000);
+            for (int i = 0; i < 100; i++) {
+                cache.get("pikachu");
+            }
+            for (int i = 0; i < 63; i++) {
+                cache.put("pokemon-" + i, "pokemon", 60_000);
+            }
+
+            // Each challenger is written twice, so it outranks an entry whose frequencies were forgotten.
+            for (int i = 0; i < 10; i++) {
+                cache.put("challenger-" + i, "challenger", 60_000);
+                cache.put("challenger-" + i, "challenger", 60_000);
+            }
+
+            assertEquals("pikachu", cache.get("pikachu"));
+        }
+
+        @Test
+        @DisplayName("should count hits and misses")
+        void get_shouldCountHitsAndMisses() {
+            boundedCache.put("pikachu", "0123456789", 60_000);
+
+            boundedCache.get("pikachu");
+            boundedCache.get("charizard");
+
+            assertEquals(1, boundedCache.stats().hits());
+            assertEquals(1, boundedCache.stats().misses());
+            assertEquals(0.5, boundedCache.stats().hitRate());
+        }
+    }
+
     @Nested
     @DisplayName("Handle cache with null or empty values")
     class NullOrEmptyValuesTests {
@@ -0,0 +1,158 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import looqbox.challenge.microservicepokeapi.config.CacheConfig;
+import looqbox.challenge.microservicepokeapi.config.HttpClientConfig;
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load benchmark of a cold-cache storm: every tenth request misses and waits on a slow, concurrency-limited upstream
+ * while the rest hit a hot key, whose short soft TTL keeps background refreshes running throughout. Both runs build
+ * the Pokédex cache and the PokéAPI client through {@link CacheConfig} and {@link HttpClientConfig}, once with
+ * {@code spring.threads.virtual.enabled} off and once with it on, call the upstream through
+ * {@link HttpRequestComponet}, whose bulkhead bounds its concurrency, and serve requests like Tomcat does in each
+ * mode: a pool of 200 platform threads (its default {@code maxThreads}), or the {@link VirtualThreadExecutor} Spring
+ * Boot installs. Opt-in, since it takes several seconds: {@code ./gradlew test -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ColdCacheStormBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdCacheStormBenchmarkTest.class);
+
+    private static final int REQUESTS = 20_000;
+    private static final int COLD_KEYS = 400;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int UPSTREAM_CONCURRENCY = 8;
+    private static final long UPSTREAM_LATENCY_MILLIS = 50;
+    private static final long TTL = TimeUnit.MINUTES.toMillis(5);
+    private static final CacheRefreshPolicy COLD_POLICY = CacheRefreshPolicy.expireAfter(TTL);
+    // Stale after 20 ms, so hits keep handing refreshes to the cache's refresh executor.
+    private static final CacheRefreshPolicy HOT_POLICY = new CacheRefreshPolicy(20, TTL, TTL, 0);
+    // The bulkhead queues callers for as long as the storm lasts instead of shedding them after a second.
+    private static final ResiliencePolicy UPSTREAM_POLICY = new ResiliencePolicy(5, 30_000, 1, 1, 100, 2_000,
+            UPSTREAM_CONCURRENCY, TimeUnit.MINUTES.toMillis(2));
+
+    private record Result(long elapsedMillis, double requestsPerSecond, long hotP99Micros, long refreshes) {
+    }
+
+    @Test
+    @DisplayName("virtual threads should keep cache hits flowing while cold keys wait on the upstream")
+    void coldCacheStorm() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        logger.info("platform threads: {}", platform);
+        logger.info("virtual threads:  {}", virtual);
+        assertTrue(virtual.refreshes() > 0 && platform.refreshes() > 0,
+                "the hot key should have been refreshed in the background: " + virtual + " vs " + platform);
+        // The upstream bounds throughput in both modes; on a single CPU, virtual threads trail by about 10% because
+        // upstream responses are handed to the same carrier as the request flood.
+        assertTrue(virtual.requestsPerSecond() >= platform.requestsPerSecond() * 0.8,
+                "virtual-thread throughput should hold up: " + virtual + " vs " + platform);
+        assertTrue(virtual.hotP99Micros() <= platform.hotP99Micros(),
+                "cache hits should not queue behind blocked misses: " + virtual + " vs " + platform);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        HttpServer upstream = startUpstream();
+        String upstreamUrl = "http://" + upstream.getAddress().getHostString() + ":" + upstream.getAddress().getPort() + "/";
+        CacheComponet<String, List<Pokemon>> cache = new CacheConfig()
+                .pokedexCache(CacheComponet.UNBOUNDED, 64, false, "", virtualThreads, 16);
+        ExecutorService requests = virtualThreads
+                ? new VirtualThreadExecutor("tomcat-handler-")
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        long[] hotLatencies = new long[REQUESTS];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+
+        long start;
+        try (HttpClient client = new HttpClientConfig().pokeApiHttpClient(2000, 30, 16, virtualThreads)) {
+            HttpRequestComponet pokeApi = new HttpRequestComponet(client, new ObjectMapper(),
+                    new ResilienceRegistry(host -> UPSTREAM_POLICY, Ticker.system()));
+            cache.getOrLoad("hot", () -> fetch(pokeApi, upstreamUrl, "hot"), HOT_POLICY);
+            start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                long submitted = System.nanoTime();
+                requests.execute(() -> {
+                    try {
+                        String key = request % 10 == 0 ? "cold-" + (request / 10) % COLD_KEYS : "hot";
+                        CacheRefreshPolicy policy = request % 10 == 0 ? COLD_POLICY : HOT_POLICY;
+                        List<Pokemon> value = cache.getOrLoad(key, () -> fetch(pokeApi, upstreamUrl, key), policy);
+                        if (!value.get(0).getName().equals(key)) {
+                            failures.incrementAndGet();
+                        }
+                        if (request % 10 != 0) {
+                            hotLatencies[request] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submitted);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(2, TimeUnit.MINUTES), "storm did not finish");
+        } finally {
+            requests.shutdown();
+            upstream.stop(0);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        assertEquals(0, failures.get(), "requests failed with virtualThreads=" + virtualThreads);
+
+        long[] hot = Arrays.stream(hotLatencies).filter(latency -> latency > 0).sorted().toArray();
+        long hotP99 = hot.length == 0 ? 0 : hot[(int) Math.ceil(hot.length * 0.99) - 1];
+        return new Result(elapsedMillis, REQUESTS * 1000.0 / elapsedMillis, hotP99, cache.stats().refreshes());
+    }
+
+    /**
+     * A slow PokéAPI stand-in: each call takes {@value #UPSTREAM_LATENCY_MILLIS} ms, at most
+     * {@value #UPSTREAM_CONCURRENCY} at a time, and answers with the last segment of its path as a JSON string.
+     */
+    private static HttpServer startUpstream() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(Executors.newFixedThreadPool(UPSTREAM_CONCURRENCY));
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = ('"' + path.substring(path.lastIndexOf('/') + 1) + '"').getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static List<Pokemon> fetch(HttpRequestComponet pokeApi, String upstreamUrl, String key) {
+        return pokeApi.streamGetRequest(upstreamUrl + key, parser -> List.of(new Pokemon(parser.nextTextValue())));
+    }
+}
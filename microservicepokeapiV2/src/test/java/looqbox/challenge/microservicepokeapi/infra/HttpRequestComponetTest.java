@@ -0,0 +1,142 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import looqbox.challenge.microservicepokeapi.exception.ApiRequestException;
+import looqbox.challenge.microservicepokeapi.model.HttpClientStats;
+import looqbox.challenge.microservicepokeapi.model.PokedexResultHighlight;
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpRequestComponetTest {
+
+    private static final byte[] BODY = "{\"count\":2,\"results\":[{\"name\":\"bulbasaur\"},{\"name\":\"ivysaur\"}]}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private HttpRequestComponet httpRequestComponet;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/plain", exchange -> {
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.createContext("/gzip", exchange -> {
+            byte[] compressed = gzip(BODY);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(compressed);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(Arrays.copyOf(BODY, 20));
+                out.flush();
+                Thread.sleep(2_000);
+                out.write(BODY, 20, BODY.length - 20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        httpRequestComponet = new HttpRequestComponet(HttpClient.newHttpClient(), new ObjectMapper(),
+                new ResilienceRegistry(host -> ResiliencePolicy.DEFAULT, Ticker.system()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> names(PokedexResultHighlight result) {
+        return result.getResults().stream().map(Pokemon::getName).toList();
+    }
+
+    @Test
+    @DisplayName("should deserialize plain and gzip-encoded bodies alike")
+    void shouldDecodeGzipBodies() {
+        ResponseEntity<PokedexResultHighlight> plain = httpRequestComponet.sendGetRequest(url("/plain"), PokedexResultHighlight.class);
+        ResponseEntity<PokedexResultHighlight> gzipped = httpRequestComponet.sendGetRequest(url("/gzip"), PokedexResultHighlight.class);
+
+        assertEquals(List.of("bulbasaur", "ivysaur"), names(plain.getBody()));
+        assertEquals(List.of("bulbasaur", "ivysaur"), names(gzipped.getBody()));
+    }
+
+    @Test
+    @DisplayName("should stream a gzip-encoded listing into a name store")
+    void shouldStreamListing() {
+        PokemonListing listing = httpRequestComponet.streamGetRequest(url("/gzip"), PokemonListingReader::read);
+
+        assertEquals(2, listing.count());
+        assertEquals("ivysaur", listing.names().name(1));
+    }
+
+    @Test
+    @DisplayName("should fail on non-2xx statuses and count the failure")
+    void shouldFailOnErrorStatus() {
+        assertThrows(ApiRequestException.class,
+                () -> httpRequestComponet.sendGetRequest(url("/missing"), PokedexResultHighlight.class));
+        httpRequestComponet.sendGetRequest(url("/plain"), PokedexResultHighlight.class);
+
+        HttpClientStats stats = httpRequestComponet.stats();
+        assertEquals(2, stats.requests());
+        assertEquals(1, stats.failures());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    @DisplayName("should cut off a body still streaming when the total timeout expires")
+    void shouldTimeOutSlowBody() {
+        // A single attempt, so the timeout surfaces instead of being retried.
+        HttpRequestComponet singleAttempt = new HttpRequestComponet(HttpClient.newHttpClient(), new ObjectMapper(),
+                new ResilienceRegistry(host -> new ResiliencePolicy(5, 30_000, 1, 1, 0, 0, 8, 1_000), Ticker.system()));
+        ReflectionTestUtils.setField(singleAttempt, "totalTimeout", 300L);
+
+        long start = System.nanoTime();
+        ApiRequestException exception = assertThrows(ApiRequestException.class,
+                () -> singleAttempt.streamGetRequest(url("/slow"), PokemonListingReader::read));
+
+        assertTrue(exception.getMessage().startsWith("Timed out reading response"), exception.getMessage());
+        assertTrue(System.nanoTime() - start < 1_500_000_000L, "the body should not have been read to the end");
+        assertEquals(1, singleAttempt.stats().timeouts());
+    }
+}
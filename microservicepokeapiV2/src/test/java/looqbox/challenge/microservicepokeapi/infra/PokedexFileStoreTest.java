@@ -0,0 +1,87 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokedexFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Pokemon> pokemons = List.of(
+            new Pokemon("bulbasaur"),
+            new Pokemon("flabébé"),
+            new Pokemon("mr-mime")
+    );
+
+    @Test
+    @DisplayName("should read back the names that were written and when")
+    void read_shouldReturnWrittenNames() {
+        PokedexFileStore store = new PokedexFileStore(directory);
+        long before = System.currentTimeMillis();
+
+        store.write("all_pokemons", pokemons);
+        SecondLevelCache.Persisted<List<Pokemon>> restored = store.read("all_pokemons");
+
+        assertNotNull(restored);
+        assertEquals(List.of("bulbasaur", "flabébé", "mr-mime"),
+                restored.value().stream().map(Pokemon::getName).toList());
+        assertTrue(restored.writtenAt() >= before && restored.writtenAt() <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("should delete the temporary file when the snapshot cannot be moved into place")
+    void write_shouldDeleteTemporaryFileWhenMoveFails() throws IOException {
+        // A non-empty directory where the snapshot goes makes the final move fail.
+        Files.createDirectories(directory.resolve("all_pokemons.pkdx").resolve("occupied"));
+        PokedexFileStore store = new PokedexFileStore(directory);
+
+        store.write("all_pokemons", pokemons);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(), files.filter(file -> file.toString().endsWith(".tmp")).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("should return null when there is no snapshot for the key")
+    void read_shouldReturnNullWhenMissing() {
+        assertNull(new PokedexFileStore(directory).read("all_pokemons"));
+    }
+
+    @Test
+    @DisplayName("should ignore a snapshot whose payload does not match its checksum")
+    void read_shouldRejectCorruptedSnapshot() throws IOException {
+        PokedexFileStore store = new PokedexFileStore(directory);
+        store.write("all_pokemons", pokemons);
+        Path file = directory.resolve("all_pokemons.pkdx");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x1;
+        Files.write(file, bytes);
+
+        assertNull(store.read("all_pokemons"));
+    }
+
+    @Test
+    @DisplayName("should ignore a snapshot written with another format version")
+    void read_shouldRejectUnknownVersion() throws IOException {
+        PokedexFileStore store = new PokedexFileStore(directory);
+        store.write("all_pokemons", pokemons);
+        Path file = directory.resolve("all_pokemons.pkdx");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = (byte) (PokedexFileStore.FORMAT_VERSION + 1);
+        Files.write(file, bytes);
+
+        assertNull(store.read("all_pokemons"));
+    }
+}
@@ -0,0 +1,54 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonListingReaderTest {
+
+    private static PokemonListing read(String json) throws IOException {
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            return PokemonListingReader.read(parser);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep count and names and skip every other field")
+    void shouldReadCountAndNames() throws IOException {
+        PokemonListing listing = read("""
+                {"count": 1302, "next": "https://pokeapi.co/api/v2/pokemon?offset=2&limit=2", "previous": null,
+                 "meta": {"nested": [1, {"name": "ignored"}]},
+                 "results": [
+                   {"name": "bulbasaur", "url": "https://pokeapi.co/api/v2/pokemon/1/"},
+                   {"url": "https://pokeapi.co/api/v2/pokemon/2/", "extra": {"name": "ignored"}, "name": "ivysaur"}
+                 ]}
+                """);
+
+        assertEquals(1302, listing.count());
+        assertEquals(2, listing.names().size());
+        assertEquals("bulbasaur", listing.names().name(0));
+        assertEquals("ivysaur", listing.names().name(1));
+    }
+
+    @Test
+    @DisplayName("should round-trip non-ASCII names through the UTF-8 arena")
+    void shouldKeepNonAsciiNames() throws IOException {
+        PokemonListing listing = read("{\"results\": [{\"name\": \"flabébé\"}, {\"name\": \"nidoran♀\"}, {\"name\": \"x😀\"}]}");
+
+        assertEquals(-1, listing.count());
+        assertEquals("flabébé", listing.names().name(0));
+        assertEquals("nidoran♀", listing.names().name(1));
+        assertEquals("x😀", listing.names().name(2));
+    }
+
+    @Test
+    @DisplayName("should report a listing without results as having no names")
+    void shouldReturnNullNamesWithoutResults() throws IOException {
+        assertNull(read("{\"count\": 0}").names());
+    }
+}
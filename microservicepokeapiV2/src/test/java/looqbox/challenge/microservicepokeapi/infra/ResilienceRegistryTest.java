@@ -0,0 +1,79 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import looqbox.challenge.microservicepokeapi.exception.ApiRequestException;
+import looqbox.challenge.microservicepokeapi.exception.CircuitOpenException;
+import looqbox.challenge.microservicepokeapi.model.ResilienceStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceRegistryTest {
+
+    private static final String URI = "https://pokeapi.co/api/v2/pokemon";
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private ResilienceRegistry resilienceRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // Two failures open the circuit for one second; two attempts per call, no backoff.
+        ResiliencePolicy policy = new ResiliencePolicy(2, 1_000, 1, 2, 0, 0, 4, 0);
+        resilienceRegistry = new ResilienceRegistry(host -> policy, now::get);
+    }
+
+    private String failing() {
+        calls.incrementAndGet();
+        throw new ApiRequestException("Failed to fetch data from URI: " + URI, 503);
+    }
+
+    private ResilienceStats stats() {
+        return resilienceRegistry.stats().get(0);
+    }
+
+    @Test
+    @DisplayName("should retry transient failures, open the circuit and then reject without calling")
+    void shouldOpenCircuitAfterRepeatedFailures() {
+        assertThrows(ApiRequestException.class, () -> resilienceRegistry.execute(URI, this::failing));
+        assertEquals(2, calls.get());
+        assertEquals("OPEN", stats().circuitState());
+
+        CircuitOpenException rejected = assertThrows(CircuitOpenException.class,
+                () -> resilienceRegistry.execute(URI, this::failing));
+        assertEquals(2, calls.get());
+        assertEquals(1_000, rejected.getRetryAfterMillis());
+        assertEquals(1, stats().rejectedByCircuit());
+    }
+
+    @Test
+    @DisplayName("should let a trial call through once the circuit has been open long enough and close on success")
+    void shouldCloseCircuitAfterSuccessfulTrial() {
+        assertThrows(ApiRequestException.class, () -> resilienceRegistry.execute(URI, this::failing));
+        now.addAndGet(1_000);
+        assertEquals("HALF_OPEN", stats().circuitState());
+
+        assertEquals("ok", resilienceRegistry.execute(URI, () -> "ok"));
+        assertEquals("CLOSED", stats().circuitState());
+        assertEquals(0, stats().consecutiveFailures());
+    }
+
+    @Test
+    @DisplayName("should neither retry nor count client errors against the circuit")
+    void shouldIgnoreClientErrors() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ApiRequestException.class, () -> resilienceRegistry.execute(URI, () -> {
+                calls.incrementAndGet();
+                throw new ApiRequestException("Failed to fetch data from URI: " + URI, 404);
+            }));
+        }
+
+        assertEquals(3, calls.get());
+        assertEquals("CLOSED", stats().circuitState());
+        assertEquals(0, stats().retries());
+    }
+}
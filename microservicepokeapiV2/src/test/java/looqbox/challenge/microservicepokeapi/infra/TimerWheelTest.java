@@ -0,0 +1,50 @@
+package looqbox.challenge.microservicepokeapi.infra;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    // Span of each level in milliseconds: ~1s, ~1m, ~1h, ~18h and ~3d.
+    private static final int[] SPAN_SHIFTS = {10, 16, 22, 26, 28};
+    private static final long TICK = 1L << SPAN_SHIFTS[0];
+    private static final long STEP = 1000;
+    // Not aligned to any level, so deadlines land mid-bucket.
+    private static final long START = 123_456_789;
+
+    @Test
+    @DisplayName("should expire timers scheduled around every level boundary within a tick of their deadline")
+    void advance_shouldExpireTimersAroundLevelBoundaries() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(START);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int shift : SPAN_SHIFTS) {
+            long span = 1L << shift;
+            for (long delay : new long[]{span - 1, span, span + 1, 3 * span + 1}) {
+                String key = shift + "+" + delay;
+                deadlines.put(key, START + delay);
+                timerWheel.schedule(key, START + delay);
+            }
+        }
+        long lastDeadline = deadlines.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+
+        Map<String, Long> expiredAt = new HashMap<>();
+        for (long now = START + STEP; now <= lastDeadline + 2 * TICK; now += STEP) {
+            for (String key : timerWheel.advance(now)) {
+                assertNull(expiredAt.put(key, now), "expired twice: " + key);
+            }
+        }
+
+        assertEquals(deadlines.keySet(), expiredAt.keySet());
+        deadlines.forEach((key, deadline) -> {
+            long expired = expiredAt.get(key);
+            assertTrue(expired >= deadline, key + " expired early at " + expired + ", deadline " + deadline);
+            assertTrue(expired - deadline <= TICK + STEP, key + " expired late at " + expired + ", deadline " + deadline);
+        });
+        assertEquals(0, timerWheel.size());
+    }
+}
@@ -0,0 +1,72 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.SimplePokedexResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+
+    private EncodedResponseCache encodedResponseCache;
+    private final AtomicInteger payloads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        encodedResponseCache = new EncodedResponseCache(new ObjectMapper(), new CacheComponet<>());
+    }
+
+    private SimplePokedexResult payload(List<String> names) {
+        payloads.incrementAndGet();
+        return new SimplePokedexResult(names);
+    }
+
+    @Test
+    @DisplayName("should serialize a response once and serve the same bytes afterwards")
+    void shouldServeCachedBytes() {
+        EncodedResponse first = encodedResponseCache.getOrEncode("\"a1\"", () -> payload(List.of("pikachu")));
+        EncodedResponse second = encodedResponseCache.getOrEncode("\"a1\"", () -> payload(List.of("pikachu")));
+
+        assertSame(first, second);
+        assertEquals(1, payloads.get());
+        assertEquals("{\"result\":[\"pikachu\"]}", new String(first.json(), StandardCharsets.UTF_8));
+        assertFalse(first.hasGzip());
+    }
+
+    @Test
+    @DisplayName("should encode a new body for every entity tag")
+    void shouldEncodePerEntityTag() {
+        EncodedResponse first = encodedResponseCache.getOrEncode("\"a1\"", () -> payload(List.of("pikachu")));
+        EncodedResponse second = encodedResponseCache.getOrEncode("\"b2\"", () -> payload(List.of("raichu")));
+
+        assertEquals(2, payloads.get());
+        assertEquals("\"a1\"", first.etag());
+        assertEquals("\"b2\"", second.etag());
+    }
+
+    @Test
+    @DisplayName("should keep a gzip variant with its own ETag for large bodies")
+    void shouldCompressLargeBodies() throws IOException {
+        List<String> names = Collections.nCopies(200, "bulbasaur");
+        EncodedResponse response = encodedResponseCache.getOrEncode("\"c3\"", () -> payload(names));
+
+        assertTrue(response.hasGzip());
+        assertTrue(response.gzipJson().length < response.json().length);
+        assertEquals("\"c3-gzip\"", EncodedResponse.gzipETag(response.etag()));
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(response.gzipJson()))) {
+            assertArrayEquals(response.json(), gzipStream.readAllBytes());
+        }
+    }
+}
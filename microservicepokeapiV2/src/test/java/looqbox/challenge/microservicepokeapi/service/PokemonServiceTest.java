@@ -1,11 +1,27 @@
 package looqbox.challenge.microservicepokeapi.service;
 
 import looqbox.challenge.microservicepokeapi.exception.ApiRequestException;
+import looqbox.challenge.microservicepokeapi.exception.CacheException;
+import looqbox.challenge.microservicepokeapi.exception.CircuitOpenException;
+import looqbox.challenge.microservicepokeapi.exception.InvalidBatchRequestException;
+import looqbox.challenge.microservicepokeapi.exception.InvalidPageRequestException;
 import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import looqbox.challenge.microservicepokeapi.infra.CacheRefreshPolicy;
+import looqbox.challenge.microservicepokeapi.infra.ConditionalResponse;
 import looqbox.challenge.microservicepokeapi.infra.HttpRequestComponet;
+import looqbox.challenge.microservicepokeapi.infra.NameStore;
+import looqbox.challenge.microservicepokeapi.infra.PokemonListing;
+import looqbox.challenge.microservicepokeapi.model.BatchQuery;
+import looqbox.challenge.microservicepokeapi.model.BatchRequest;
+import looqbox.challenge.microservicepokeapi.model.BatchResult;
+import looqbox.challenge.microservicepokeapi.model.PageQuery;
 import looqbox.challenge.microservicepokeapi.model.PokedexResultHighlight;
 import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.model.PokemonPage;
+import looqbox.challenge.microservicepokeapi.model.ResponseVersion;
+import looqbox.challenge.microservicepokeapi.model.SimplePokedexResult;
 import looqbox.challenge.microservicepokeapi.util.sorting.SortingStrategyFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -13,15 +29,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
-import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
-@TestPropertySource(properties = {"pokeapi.url=https://pokeapi.co/api/v2/pokemon?limit=1500"})
 @ExtendWith(MockitoExtension.class)
 class PokemonServiceTest {
 
@@ -36,28 +55,46 @@ class PokemonServiceTest {
     @InjectMocks
     private PokemonService pokemonService;
 
-    @Value("${pokeapi.url}")
-    private String pokeApiUrl;
+    private final String pokeApiUrl = "https://pokeapi.co/api/v2/pokemon?limit=1500";
 
-    private final ResponseEntity mockResponse = mock(ResponseEntity.class);
     private List<Pokemon> mockPokemons = List.of(
             new Pokemon("bulbasaur"),
             new Pokemon("pikachu"),
             new Pokemon("charizard")
     );
 
+    @BeforeEach
+    void setUp() {
+        // Mockito does not resolve @Value fields, so the listing URL is injected by hand.
+        ReflectionTestUtils.setField(pokemonService, "pokeApiUrl", pokeApiUrl);
+    }
+
+    private static PokemonListing listing(List<Pokemon> pokemons) {
+        return listing(pokemons.size(), pokemons);
+    }
+
+    private static PokemonListing listing(int count, List<Pokemon> pokemons) {
+        NameStore names = new NameStore();
+        pokemons.forEach(pokemon -> names.append(pokemon.getName()));
+        return new PokemonListing(count, names);
+    }
+
+    private static ConditionalResponse<PokemonListing> response(PokemonListing listing) {
+        return new ConditionalResponse<>(listing, null, false);
+    }
+
+    private void stubCacheMiss() {
+        when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                .thenAnswer(invocation -> invocation.<Supplier<List<Pokemon>>>getArgument(1).get());
+    }
+
     @Test
     @DisplayName("should return a list of pokemons when the API response is valid")
     void getAllPokemons_shouldReturnPokemons() {
+        stubCacheMiss();
 
 
-        when(httpRequestComponet.sendGetRequest(pokeApiUrl, PokedexResultHighlight.class))
-                .thenReturn(mockResponse);
-
-        PokedexResultHighlight pokedexResultHighlight = new PokedexResultHighlight();
-        pokedexResultHighlight.setResults(mockPokemons);
-
-        when(mockResponse.getBody()).thenReturn(pokedexResultHighlight);
+        when(httpRequestComponet.<PokemonListing>streamGetRequest(eq(pokeApiUrl), any(), any())).thenReturn(response(listing(mockPokemons)));
 
         List<Pokemon> pokemons = pokemonService.getAllPokemons();
 
@@ -72,14 +109,23 @@ class PokemonServiceTest {
     @Test
     @DisplayName("should throw ApiRequestException when the API response is empty or null")
     void getAllPokemons_shouldThrowApiRequestExceptionWhenEmptyResponse() {
-        when(httpRequestComponet.sendGetRequest(pokeApiUrl, PokedexResultHighlight.class))
-                .thenReturn(mockResponse);
-
-        when(mockResponse.getBody()).thenReturn(null);
+        stubCacheMiss();
+        when(httpRequestComponet.streamGetRequest(eq(pokeApiUrl), any(), any())).thenReturn(null);
 
         assertThrows(ApiRequestException.class, () -> pokemonService.getAllPokemons());
     }
 
+    @Test
+    @DisplayName("should start cold when the warm-up load fails for any reason")
+    void warmUp_shouldNotFailStartup() {
+        when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                .thenThrow(new CacheException("Timed out after 10000 ms waiting for key: all_pokemons"))
+                .thenThrow(new IllegalStateException("Invalid name offsets at index 0"));
+
+        assertDoesNotThrow(() -> pokemonService.warmUp());
+        assertDoesNotThrow(() -> pokemonService.warmUp());
+    }
+
     @Nested
     @DisplayName("Filter Pokemons")
     class FilterPokemons {
@@ -161,6 +207,285 @@ class PokemonServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Pagination")
+    class Pagination {
+
+        @SafeVarargs
+        private void stubAlphabeticalSnapshot(List<Pokemon> first, List<Pokemon>... refreshed) {
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class))).thenReturn(first, refreshed);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("alphabetical"));
+            when(sortingStrategyFactory.sort(anyList(), eq("alphabetical"))).thenAnswer(invocation -> {
+                List<Pokemon> sorted = new ArrayList<>(invocation.<List<Pokemon>>getArgument(0));
+                sorted.sort(Comparator.comparing(Pokemon::getName));
+                return sorted;
+            });
+            when(sortingStrategyFactory.normalizeSortType("alphabetical")).thenReturn("alphabetical");
+        }
+
+        @Test
+        @DisplayName("should return pages of the requested size chained by cursors")
+        void shouldChainPagesWithCursors() {
+            stubAlphabeticalSnapshot(mockPokemons);
+
+            PokemonPage first = pokemonService.searchPokemonPage(null, "alphabetical", new PageQuery(2, 0, null));
+            PokemonPage second = pokemonService.searchPokemonPage(null, "alphabetical", new PageQuery(2, 0, first.nextCursor()));
+
+            assertEquals(List.of("bulbasaur", "charizard"), first.pokemons().stream().map(Pokemon::getName).toList());
+            assertNotNull(first.nextCursor());
+            assertEquals(List.of("pikachu"), second.pokemons().stream().map(Pokemon::getName).toList());
+            assertNull(second.nextCursor());
+        }
+
+        @Test
+        @DisplayName("should resume a cursor after its last name once the data has been refreshed")
+        void shouldResumeCursorAcrossRefresh() {
+            List<Pokemon> refreshed = List.of(new Pokemon("abra"), new Pokemon("bulbasaur"), new Pokemon("pikachu"), new Pokemon("charizard"));
+            stubAlphabeticalSnapshot(mockPokemons, refreshed);
+            when(sortingStrategyFactory.getComparator("alphabetical")).thenReturn(Comparator.comparing(Pokemon::getName));
+
+            PokemonPage first = pokemonService.searchPokemonPage(null, "alphabetical", new PageQuery(1, 0, null));
+            PokemonPage second = pokemonService.searchPokemonPage(null, "alphabetical", new PageQuery(1, 0, first.nextCursor()));
+
+            assertEquals("bulbasaur", first.pokemons().get(0).getName());
+            assertEquals("charizard", second.pokemons().get(0).getName());
+        }
+
+        @Test
+        @DisplayName("should reject malformed cursors")
+        void shouldRejectMalformedCursor() {
+            stubAlphabeticalSnapshot(mockPokemons);
+
+            assertThrows(InvalidPageRequestException.class,
+                    () -> pokemonService.searchPokemonPage(null, "alphabetical", new PageQuery(1, 0, "not-a-cursor")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sorted Snapshots")
+    class SortedSnapshots {
+
+        @Test
+        @DisplayName("should sort once per data refresh and serve later requests from the snapshot")
+        void shouldReuseSnapshotAcrossRequests() {
+            List<Pokemon> sortedPokemons = List.of(mockPokemons.get(0), mockPokemons.get(2), mockPokemons.get(1));
+
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class))).thenReturn(mockPokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("alphabetical"));
+            when(sortingStrategyFactory.sort(mockPokemons, "alphabetical")).thenReturn(sortedPokemons);
+            when(sortingStrategyFactory.normalizeSortType("Alphabetical")).thenReturn("alphabetical");
+
+            List<Pokemon> firstResult = pokemonService.searchPokemons(null, "Alphabetical");
+            List<Pokemon> secondResult = pokemonService.searchPokemons("char", "Alphabetical");
+
+            assertEquals(sortedPokemons, firstResult);
+            assertEquals(1, secondResult.size());
+            assertEquals("charizard", secondResult.get(0).getName());
+            assertThrows(UnsupportedOperationException.class, () -> firstResult.add(new Pokemon("mew")));
+            verify(sortingStrategyFactory, times(1)).sort(mockPokemons, "alphabetical");
+        }
+
+        @Test
+        @DisplayName("should answer index and short scan queries case-insensitively in sort order")
+        void shouldSearchSnapshotInSortOrder() {
+            List<Pokemon> sortedPokemons = List.of(mockPokemons.get(1), mockPokemons.get(0), mockPokemons.get(2));
+
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class))).thenReturn(mockPokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("length"));
+            when(sortingStrategyFactory.sort(mockPokemons, "length")).thenReturn(sortedPokemons);
+            when(sortingStrategyFactory.normalizeSortType("length")).thenReturn("length");
+
+            List<Pokemon> indexResult = pokemonService.searchPokemons("ZAR", "length");
+            List<Pokemon> scanResult = pokemonService.searchPokemons("a", "length");
+
+            assertEquals(List.of("charizard"), indexResult.stream().map(Pokemon::getName).toList());
+            assertEquals(List.of("pikachu", "bulbasaur", "charizard"), scanResult.stream().map(Pokemon::getName).toList());
+        }
+
+        @Test
+        @DisplayName("should keep response validators when a refresh brings back the same names")
+        void shouldKeepResponseVersionForUnchangedData() {
+            List<Pokemon> refreshedPokemons = mockPokemons.stream().map(pokemon -> new Pokemon(pokemon.getName())).toList();
+
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                    .thenReturn(mockPokemons)
+                    .thenReturn(refreshedPokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("alphabetical"));
+            when(sortingStrategyFactory.sort(anyList(), eq("alphabetical"))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sortingStrategyFactory.normalizeSortType("alphabetical")).thenReturn("alphabetical");
+
+            PokedexSnapshot firstSnapshot = pokemonService.getSnapshot();
+            PokedexSnapshot secondSnapshot = pokemonService.getSnapshot();
+            ResponseVersion first = pokemonService.getResponseVersion(firstSnapshot, PokemonService.NAMES_VIEW, "pika", "alphabetical", PageQuery.UNPAGED);
+            ResponseVersion second = pokemonService.getResponseVersion(secondSnapshot, PokemonService.NAMES_VIEW, "pika", "alphabetical", PageQuery.UNPAGED);
+            ResponseVersion highlight = pokemonService.getResponseVersion(secondSnapshot, PokemonService.HIGHLIGHT_VIEW, "pika", "alphabetical", PageQuery.UNPAGED);
+
+            assertEquals(first, second);
+            assertNotEquals(first.etag(), highlight.etag());
+            verify(sortingStrategyFactory, times(2)).sort(anyList(), eq("alphabetical"));
+        }
+
+        @Test
+        @DisplayName("should compute the body from the snapshot its validators came from, even after a refresh")
+        void shouldPairValidatorsAndBodyFromOneSnapshot() {
+            List<Pokemon> refreshedPokemons = List.of(new Pokemon("pikachu"), new Pokemon("pikipek"));
+
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                    .thenReturn(mockPokemons)
+                    .thenReturn(refreshedPokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("alphabetical"));
+            when(sortingStrategyFactory.sort(anyList(), eq("alphabetical"))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sortingStrategyFactory.normalizeSortType("alphabetical")).thenReturn("alphabetical");
+
+            PageQuery page = new PageQuery(10, 0, null);
+            PokedexSnapshot snapshot = pokemonService.getSnapshot();
+            ResponseVersion version = pokemonService.getResponseVersion(snapshot, PokemonService.NAMES_VIEW, "pik", "alphabetical", page);
+            PokedexSnapshot refreshed = pokemonService.getSnapshot();
+            Object body = pokemonService.getResult(snapshot, PokemonService.NAMES_VIEW, "pik", "alphabetical", page);
+
+            assertNotSame(snapshot, refreshed);
+            assertEquals(List.of("pikachu"), ((SimplePokedexResult) body).getResult());
+            assertEquals(version, pokemonService.getResponseVersion(snapshot, PokemonService.NAMES_VIEW, "pik", "alphabetical", page));
+            assertNotEquals(version, pokemonService.getResponseVersion(refreshed, PokemonService.NAMES_VIEW, "pik", "alphabetical", page));
+        }
+    }
+
+    @Nested
+    @DisplayName("Suggestions")
+    class Suggestions {
+
+        @Test
+        @DisplayName("should complete prefixes case-insensitively, ranked by the sort type and capped at the limit")
+        void shouldRankCompletionsBySortType() {
+            List<Pokemon> pokemons = List.of(new Pokemon("pidgeotto"), new Pokemon("pichu"), new Pokemon("pikachu"), new Pokemon("mew"));
+            List<Pokemon> byLength = List.of(pokemons.get(3), pokemons.get(1), pokemons.get(2), pokemons.get(0));
+
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class))).thenReturn(pokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("length"));
+            when(sortingStrategyFactory.sort(pokemons, "length")).thenReturn(byLength);
+            when(sortingStrategyFactory.normalizeSortType("length")).thenReturn("length");
+
+            assertEquals(List.of("pichu", "pikachu"), pokemonService.getSuggestions("PI", "length", 2).getResult());
+            assertEquals(List.of("mew", "pichu"), pokemonService.getSuggestions(null, "length", 2).getResult());
+            assertEquals(List.of(), pokemonService.getSuggestions("pikachuu", "length", 2).getResult());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fuzzy search")
+    class FuzzySearch {
+
+        private final List<Pokemon> pokemons = List.of(new Pokemon("pikachu"), new Pokemon("pichu"), new Pokemon("raichu"), new Pokemon("charizard"));
+
+        @BeforeEach
+        void setUp() {
+            List<Pokemon> byLength = List.of(pokemons.get(1), pokemons.get(2), pokemons.get(0), pokemons.get(3));
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class))).thenReturn(pokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("length"));
+            when(sortingStrategyFactory.sort(pokemons, "length")).thenReturn(byLength);
+            when(sortingStrategyFactory.normalizeSortType("length")).thenReturn("length");
+        }
+
+        @Test
+        @DisplayName("should rank misspelled matches by edit distance, then by the sort type")
+        void shouldRankByDistanceThenSortType() {
+            assertEquals(List.of("raichu", "pichu"), pokemonService.getFuzzyPokemonsResult("Raichu", "length", PageQuery.UNPAGED).getResult());
+            assertEquals(List.of("pichu", "raichu"), pokemonService.getFuzzyPokemonsResult("richu", "length", PageQuery.UNPAGED).getResult());
+            assertEquals(List.of("raichu"), pokemonService.getFuzzyPokemonsResult("richu", "length", new PageQuery(1, 1, null)).getResult());
+        }
+
+        @Test
+        @DisplayName("should find every name the exact search finds, ahead of the typo matches")
+        void shouldIncludeExactMatches() {
+            assertEquals(List.of("pikachu"), pokemonService.getFuzzyPokemonsResult("pika", "length", PageQuery.UNPAGED).getResult());
+            assertEquals(List.of("pichu", "pikachu"), pokemonService.getFuzzyPokemonsResult("Pi", "length", PageQuery.UNPAGED).getResult());
+            assertEquals(List.of("<pre>pika</pre>chu"), pokemonService.getFuzzyHighlightResult("pika", "length", PageQuery.UNPAGED)
+                    .getResults().stream().map(Pokemon::getHighlight).toList());
+        }
+
+        @Test
+        @DisplayName("should highlight the characters that line up with the query")
+        void shouldHighlightAlignedSpans() {
+            List<Pokemon> highlighted = pokemonService.getFuzzyHighlightResult("richu", "length", PageQuery.UNPAGED).getResults();
+
+            assertEquals(List.of("p<pre>ichu</pre>", "<pre>r</pre>a<pre>ichu</pre>"), highlighted.stream().map(Pokemon::getHighlight).toList());
+        }
+
+        @Test
+        @DisplayName("should hand out the offset of the next page while more matches follow")
+        void shouldReturnNextOffset() {
+            SimplePokedexResult first = pokemonService.getFuzzyPokemonsResult("richu", "length", new PageQuery(1, 0, null));
+            SimplePokedexResult last = pokemonService.getFuzzyPokemonsResult("richu", "length", new PageQuery(1, first.getNextOffset(), null));
+            PokedexResultHighlight highlighted = pokemonService.getFuzzyHighlightResult("richu", "length", new PageQuery(1, 0, null));
+
+            assertEquals(List.of("pichu"), first.getResult());
+            assertEquals(1, first.getNextOffset());
+            assertEquals(List.of("raichu"), last.getResult());
+            assertNull(last.getNextOffset());
+            assertEquals(1, highlighted.getNextOffset());
+            assertNull(first.getNextCursor());
+            assertNull(pokemonService.getFuzzyPokemonsResult("richu", "length", PageQuery.UNPAGED).getNextOffset());
+        }
+
+        @Test
+        @DisplayName("should reject cursors, since fuzzy results are paged by offset")
+        void shouldRejectCursors() {
+            PageQuery page = new PageQuery(1, 0, "abc");
+
+            assertThrows(InvalidPageRequestException.class, () -> pokemonService.getFuzzyPokemonsResult("richu", "length", page));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch")
+    class Batch {
+
+        @Test
+        @DisplayName("should answer every query in request order, ranked by its sort type and capped at its limit")
+        void shouldAnswerEveryQuery() {
+            List<Pokemon> pokemons = List.of(new Pokemon("pikachu"), new Pokemon("pichu"), new Pokemon("raichu"), new Pokemon("charizard"));
+            List<Pokemon> byLength = List.of(pokemons.get(1), pokemons.get(2), pokemons.get(0), pokemons.get(3));
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class))).thenReturn(pokemons);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("length"));
+            when(sortingStrategyFactory.sort(pokemons, "length")).thenReturn(byLength);
+            when(sortingStrategyFactory.normalizeSortType("length")).thenReturn("length");
+
+            BatchResult batch = pokemonService.getBatchResult(new BatchRequest(List.of(
+                    new BatchQuery("CHU", "length", 2),
+                    new BatchQuery("chu", "length", null),
+                    new BatchQuery("zard", "length", null),
+                    new BatchQuery("xyz", "length", null),
+                    new BatchQuery(null, "length", 1))));
+
+            List<SimplePokedexResult> results = batch.results();
+            assertEquals(List.of("pichu", "raichu"), results.get(0).getResult());
+            assertEquals(List.of("pichu", "raichu", "pikachu"), results.get(1).getResult());
+            assertNull(results.get(1).getNextCursor());
+            assertEquals(List.of("charizard"), results.get(2).getResult());
+            assertEquals(List.of(), results.get(3).getResult());
+            assertEquals(List.of("pichu"), results.get(4).getResult());
+            assertNotNull(results.get(4).getNextCursor());
+
+            // A truncated result pages on through the regular endpoint.
+            String cursor = results.get(0).getNextCursor();
+            assertEquals(List.of("pikachu"), pokemonService.getPokemonsResult("chu", "length", new PageQuery(2, 0, cursor)).getResult());
+        }
+
+        @Test
+        @DisplayName("should reject empty and oversized batches before loading any data")
+        void shouldRejectInvalidBatches() {
+            List<BatchQuery> tooMany = new ArrayList<>();
+            for (int i = 0; i <= PokemonService.MAX_BATCH_QUERIES; i++) {
+                tooMany.add(new BatchQuery("chu", "length", null));
+            }
+
+            assertThrows(InvalidBatchRequestException.class, () -> pokemonService.getBatchResult(new BatchRequest(List.of())));
+            assertThrows(InvalidBatchRequestException.class, () -> pokemonService.getBatchResult(new BatchRequest(null)));
+            assertThrows(InvalidBatchRequestException.class, () -> pokemonService.getBatchResult(new BatchRequest(tooMany)));
+            verifyNoInteractions(cacheComponet);
+        }
+    }
+
     @Nested
     @DisplayName("Highlight Pokemons")
     class HighlightPokemons {
@@ -176,6 +501,18 @@ class PokemonServiceTest {
             assertEquals("pika<pre>chu</pre>", highlightedPokemons.get(0).getHighlight());
         }
 
+        @Test
+        @DisplayName("should highlight mixed-case matches on new instances, leaving the input untouched")
+        void shouldHighlightWithoutMutatingInput() {
+            Pokemon pokemon = new Pokemon("Pikachu");
+
+            List<Pokemon> highlightedPokemons = pokemonService.getPokemonsWithHighlight(List.of(pokemon), "PIKA");
+
+            assertEquals("<pre>Pika</pre>chu", highlightedPokemons.get(0).getHighlight());
+            assertNotSame(pokemon, highlightedPokemons.get(0));
+            assertNull(pokemon.getHighlight());
+        }
+
         @Test
         @DisplayName("should not highlight the pokemon name when query is null")
         void shouldNotHighlightWhenQueryIsNull() {
@@ -201,14 +538,162 @@ class PokemonServiceTest {
     class ApiRequestExceptionTests {
 
         @Test
-        @DisplayName("should throw ApiRequestException when response body is null")
+        @DisplayName("should throw ApiRequestException when the listing has no results")
         void shouldThrowApiRequestExceptionWhenResponseIsNull() {
-            ResponseEntity<PokedexResultHighlight> response = mock(ResponseEntity.class);
+            stubCacheMiss();
+            when(httpRequestComponet.<PokemonListing>streamGetRequest(eq(pokeApiUrl), any(), any()))
+                    .thenReturn(response(new PokemonListing(0, null)));
+
+            assertThrows(ApiRequestException.class, () -> pokemonService.getAllPokemons());
+        }
+    }
+
+    @Nested
+    @DisplayName("Paginated upstream fetch")
+    class PaginatedFetch {
 
-            when(httpRequestComponet.sendGetRequest(pokeApiUrl, PokedexResultHighlight.class)).thenReturn(response);
-            when(response.getBody()).thenReturn(null);
+        private static final String LISTING_URL = "https://pokeapi.co/api/v2/pokemon?limit=2";
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(pokemonService, "pokeApiUrl", LISTING_URL);
+            ReflectionTestUtils.setField(pokemonService, "fetchPageSize", 2);
+        }
+
+        private ConditionalResponse<PokemonListing> page(int count, String... names) {
+            return response(listing(count, Arrays.stream(names).map(Pokemon::new).toList()));
+        }
+
+        @Test
+        @DisplayName("should fetch the pages past the first one and merge them in order")
+        void shouldFetchRemainingPages() {
+            stubCacheMiss();
+            when(httpRequestComponet.streamGetRequest(anyString(), any(), any())).thenAnswer(invocation -> {
+                String url = invocation.getArgument(0);
+                if (url.equals(LISTING_URL)) {
+                    return page(5, "bulbasaur", "ivysaur");
+                }
+                return url.contains("offset=2") ? page(5, "venusaur", "charmander") : page(5, "charmeleon");
+            });
+
+            List<Pokemon> pokemons = pokemonService.getAllPokemons();
+
+            assertEquals(List.of("bulbasaur", "ivysaur", "venusaur", "charmander", "charmeleon"),
+                    pokemons.stream().map(Pokemon::getName).toList());
+            verify(httpRequestComponet, times(3)).streamGetRequest(anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should fail the whole fetch when a page keeps failing")
+        void shouldFailWhenAPageKeepsFailing() {
+            stubCacheMiss();
+            when(httpRequestComponet.streamGetRequest(anyString(), any(), any())).thenAnswer(invocation -> {
+                String url = invocation.getArgument(0);
+                if (url.equals(LISTING_URL)) {
+                    return page(4, "bulbasaur", "ivysaur");
+                }
+                throw new ApiRequestException("Failed to fetch data from URI: " + url);
+            });
 
             assertThrows(ApiRequestException.class, () -> pokemonService.getAllPokemons());
         }
     }
+
+    @Nested
+    @DisplayName("Upstream circuit open")
+    class UpstreamCircuitOpen {
+
+        @Test
+        @DisplayName("should keep serving the last snapshot while the circuit is open")
+        void shouldFallBackToLastSnapshot() {
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                    .thenReturn(mockPokemons)
+                    .thenThrow(new CircuitOpenException("Circuit open for URI: " + pokeApiUrl, 1_000));
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("alphabetical"));
+            when(sortingStrategyFactory.sort(anyList(), eq("alphabetical"))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            PokedexSnapshot first = pokemonService.getSnapshot();
+
+            assertSame(first, pokemonService.getSnapshot());
+        }
+
+        @Test
+        @DisplayName("should propagate the open circuit when there is no snapshot to fall back to")
+        void shouldFailWithoutSnapshot() {
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                    .thenThrow(new CircuitOpenException("Circuit open for URI: " + pokeApiUrl, 1_000));
+
+            assertThrows(CircuitOpenException.class, () -> pokemonService.getSnapshot());
+        }
+    }
+
+    @Nested
+    @DisplayName("Delta refresh")
+    class DeltaRefresh {
+
+        @Test
+        @DisplayName("should keep the cached list when every page answers 304 Not Modified")
+        void shouldReuseListWhenNotModified() {
+            stubCacheMiss();
+            when(httpRequestComponet.streamGetRequest(any(), any(), any())).thenAnswer(invocation ->
+                    invocation.getArgument(1) == null
+                            ? new ConditionalResponse<>(listing(mockPokemons), "\"v1\"", false)
+                            : ConditionalResponse.notModified("\"v1\""));
+
+            List<Pokemon> first = pokemonService.getAllPokemons();
+            List<Pokemon> second = pokemonService.getAllPokemons();
+
+            assertSame(first, second);
+            verify(httpRequestComponet).streamGetRequest(any(), eq("\"v1\""), any());
+        }
+
+        @Test
+        @DisplayName("should patch the snapshot with added and removed names instead of sorting again")
+        void shouldPatchSnapshotOnSmallChange() {
+            ReflectionTestUtils.setField(pokemonService, "deltaMaxChangeRatio", 1.0);
+            List<Pokemon> refreshed = List.of(mockPokemons.get(0), new Pokemon("abra"), mockPokemons.get(2));
+            when(cacheComponet.getOrLoad(eq("all_pokemons"), any(), any(CacheRefreshPolicy.class)))
+                    .thenReturn(mockPokemons)
+                    .thenReturn(refreshed);
+            when(sortingStrategyFactory.getStrategyNames()).thenReturn(Set.of("alphabetical"));
+            when(sortingStrategyFactory.getComparator("alphabetical")).thenReturn(Comparator.comparing(Pokemon::getName));
+            when(sortingStrategyFactory.sort(anyList(), eq("alphabetical"))).thenAnswer(invocation -> {
+                List<Pokemon> sorted = new ArrayList<>(invocation.<List<Pokemon>>getArgument(0));
+                sorted.sort(Comparator.comparing(Pokemon::getName));
+                return sorted;
+            });
+            when(sortingStrategyFactory.normalizeSortType("alphabetical")).thenReturn("alphabetical");
+
+            pokemonService.searchPokemons(null, "alphabetical");
+            List<Pokemon> all = pokemonService.searchPokemons(null, "alphabetical");
+            List<Pokemon> matches = pokemonService.searchPokemons("abr", "alphabetical");
+
+            assertEquals(List.of("abra", "bulbasaur", "charizard"), all.stream().map(Pokemon::getName).toList());
+            assertEquals(List.of("abra"), matches.stream().map(Pokemon::getName).toList());
+            verify(sortingStrategyFactory, times(1)).sort(anyList(), eq("alphabetical"));
+        }
+
+        @Test
+        @DisplayName("should order ties like a full build when names of equal length are inserted mid-listing")
+        void shouldPatchTiesLikeFullBuild() {
+            Comparator<Pokemon> byLength = Comparator.comparingInt(pokemon -> pokemon.getName().length());
+            List<Pokemon> source = List.of(new Pokemon("bulbasaur"), new Pokemon("pikachu"), new Pokemon("charizard"), new Pokemon("squirtle"));
+            List<Pokemon> oldView = new ArrayList<>(source);
+            oldView.sort(byLength);
+            PokedexSnapshot previous = new PokedexSnapshot(1, source, Map.of("length", List.copyOf(oldView)), null);
+
+            List<Pokemon> newSource = List.of(source.get(0), new Pokemon("ivysaur"), source.get(1), source.get(2),
+                    new Pokemon("venusaur"), source.get(3));
+            List<Pokemon> newView = new ArrayList<>(newSource);
+            newView.sort(byLength);
+            PokedexSnapshot rebuilt = new PokedexSnapshot(2, newSource, Map.of("length", List.copyOf(newView)), previous);
+            PokedexSnapshot patched = previous.patch(2, newSource, Map.of("length", byLength), 1.0);
+
+            assertNotNull(patched);
+            assertEquals(rebuilt.getDataVersion(), patched.getDataVersion());
+            assertEquals(List.of("ivysaur", "pikachu", "venusaur", "squirtle", "bulbasaur", "charizard"),
+                    patched.sortedBy("length").stream().map(Pokemon::getName).toList());
+            assertEquals(rebuilt.sortedBy("length"), patched.sortedBy("length"));
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import looqbox.challenge.microservicepokeapi.infra.CacheComponet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+
+    private QueryResultCache queryResultCache;
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        queryResultCache = new QueryResultCache(new CacheComponet<>());
+    }
+
+    private List<String> compute() {
+        computations.incrementAndGet();
+        return List.of("pikachu");
+    }
+
+    @Test
+    @DisplayName("should compute a result once per query and sort, ignoring the query case")
+    void shouldReuseResultForSameQuery() {
+        assertEquals(List.of("pikachu"), queryResultCache.getOrCompute(1, "pika", "alphabetical", this::compute));
+        assertEquals(List.of("pikachu"), queryResultCache.getOrCompute(1, "PIKA", "alphabetical", this::compute));
+
+        assertEquals(1, computations.get());
+        assertEquals(1, queryResultCache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("should keep separate results for each sort type")
+    void shouldSeparateSortTypes() {
+        queryResultCache.getOrCompute(1, "pika", "alphabetical", this::compute);
+        queryResultCache.getOrCompute(1, "pika", "length", this::compute);
+
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    @DisplayName("should recompute results once the snapshot generation changes")
+    void shouldInvalidateOnNewGeneration() {
+        queryResultCache.getOrCompute(1, "pika", "alphabetical", this::compute);
+        queryResultCache.getOrCompute(2, "pika", "alphabetical", this::compute);
+
+        assertEquals(2, computations.get());
+    }
+}
@@ -0,0 +1,126 @@
+package looqbox.challenge.microservicepokeapi.service;
+
+import looqbox.challenge.microservicepokeapi.exception.CircuitOpenException;
+import looqbox.challenge.microservicepokeapi.model.EncodedResponse;
+import looqbox.challenge.microservicepokeapi.model.PageQuery;
+import looqbox.challenge.microservicepokeapi.model.PokedexResultHighlight;
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.model.PokemonPage;
+import looqbox.challenge.microservicepokeapi.model.ResponseVersion;
+import looqbox.challenge.microservicepokeapi.model.SimplePokedexResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePokemonServiceTest {
+
+    @Mock
+    private PokemonService pokemonService;
+
+    private ReactivePokemonService reactivePokemonService;
+
+    @BeforeEach
+    void setUp() {
+        reactivePokemonService = new ReactivePokemonService(pokemonService, Schedulers.immediate());
+    }
+
+    @Test
+    @DisplayName("should not touch the blocking service before subscription")
+    void shouldDeferUntilSubscribed() {
+        reactivePokemonService.searchPokemonPage("pi", "alphabetical", PageQuery.UNPAGED);
+
+        verifyNoInteractions(pokemonService);
+    }
+
+    @Test
+    @DisplayName("should emit the page found by the shared search engine")
+    void shouldEmitSearchPage() {
+        PokemonPage page = new PokemonPage(List.of(new Pokemon("pichu"), new Pokemon("pikachu")), "next");
+        when(pokemonService.searchPokemonPage("pi", "alphabetical", PageQuery.UNPAGED)).thenReturn(page);
+
+        StepVerifier.create(reactivePokemonService.searchPokemonPage("pi", "alphabetical", PageQuery.UNPAGED))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should expose the highlight result as a page with its cursor")
+    void shouldMapHighlightResultToPage() {
+        List<Pokemon> highlighted = List.of(new Pokemon("pikachu", "<pre>pi</pre>kachu"));
+        when(pokemonService.getHighlightResult("pi", "length", PageQuery.UNPAGED))
+                .thenReturn(new PokedexResultHighlight(highlighted, "next"));
+
+        StepVerifier.create(reactivePokemonService.searchHighlightPage("pi", "length", PageQuery.UNPAGED))
+                .assertNext(page -> {
+                    assertSame(highlighted, page.pokemons());
+                    assertEquals("next", page.nextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should encode the payload of the requested view")
+    @SuppressWarnings("unchecked")
+    void shouldEncodeRequestedView() {
+        PokedexSnapshot snapshot = mock(PokedexSnapshot.class);
+        ResponseVersion version = new ResponseVersion("\"a1\"", 0L);
+        EncodedResponse encoded = new EncodedResponse(new byte[0], null, "\"a1\"");
+        ArgumentCaptor<Supplier<?>> payload = ArgumentCaptor.forClass(Supplier.class);
+        when(pokemonService.getEncodedResponse(eq(version), payload.capture())).thenReturn(encoded);
+
+        StepVerifier.create(reactivePokemonService.getEncodedResponse(version, snapshot, PokemonService.HIGHLIGHT_VIEW, "pi", "alphabetical", PageQuery.UNPAGED))
+                .expectNext(encoded)
+                .verifyComplete();
+
+        payload.getValue().get();
+        verify(pokemonService).getResult(snapshot, PokemonService.HIGHLIGHT_VIEW, "pi", "alphabetical", PageQuery.UNPAGED);
+        verify(pokemonService, never()).getSnapshot();
+    }
+
+    @Test
+    @DisplayName("should pre-encode /suggest from prefix suggestions, not from a substring search")
+    @SuppressWarnings("unchecked")
+    void shouldEncodeSuggestionsForSuggestView() {
+        PokedexSnapshot snapshot = mock(PokedexSnapshot.class);
+        PageQuery page = new PageQuery(PokemonService.DEFAULT_SUGGESTIONS, 0, null);
+        ResponseVersion version = new ResponseVersion("\"s1\"", 0L);
+        EncodedResponse encoded = new EncodedResponse(new byte[0], null, "\"s1\"");
+        SimplePokedexResult suggestions = new SimplePokedexResult(List.of("pichu", "pikachu"));
+        ArgumentCaptor<Supplier<?>> payload = ArgumentCaptor.forClass(Supplier.class);
+        when(pokemonService.getEncodedResponse(eq(version), payload.capture())).thenReturn(encoded);
+        when(pokemonService.getResult(snapshot, PokemonService.SUGGEST_VIEW, "pi", "alphabetical", page)).thenCallRealMethod();
+        when(pokemonService.getSuggestions(snapshot, "pi", "alphabetical", PokemonService.DEFAULT_SUGGESTIONS)).thenReturn(suggestions);
+
+        StepVerifier.create(reactivePokemonService.getEncodedResponse(version, snapshot, PokemonService.SUGGEST_VIEW, "pi", "alphabetical", page))
+                .expectNext(encoded)
+                .verifyComplete();
+
+        assertSame(suggestions, payload.getValue().get());
+        verify(pokemonService, never()).getPokemonsResult(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should signal upstream failures as errors instead of throwing")
+    void shouldSignalErrors() {
+        when(pokemonService.getPokemonsResult(null, "alphabetical", PageQuery.UNPAGED))
+                .thenThrow(new CircuitOpenException("PokéAPI unavailable", 1000));
+
+        StepVerifier.create(reactivePokemonService.getPokemonsResult(null, "alphabetical", PageQuery.UNPAGED))
+                .expectError(CircuitOpenException.class)
+                .verify();
+    }
+}
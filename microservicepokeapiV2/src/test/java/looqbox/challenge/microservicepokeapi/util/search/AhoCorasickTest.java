@@ -0,0 +1,72 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+
+    private static List<Integer> matches(AhoCorasick automaton, String text) {
+        List<Integer> matches = new ArrayList<>();
+        automaton.match(text, matches::add);
+        return matches;
+    }
+
+    @Test
+    @DisplayName("should report overlapping and nested occurrences in the order they end")
+    void match_shouldReportOverlappingOccurrences() {
+        AhoCorasick automaton = AhoCorasick.build(new String[]{"he", "she", "his", "hers"});
+
+        assertEquals(List.of(1, 0, 3), matches(automaton, "ushers"));
+        assertEquals(List.of(2, 1, 0), matches(automaton, "hishe"));
+    }
+
+    @Test
+    @DisplayName("should report a pattern once per occurrence")
+    void match_shouldReportRepeatedOccurrences() {
+        AhoCorasick automaton = AhoCorasick.build(new String[]{"chu", "u"});
+
+        assertEquals(List.of(0, 1, 0, 1), matches(automaton, "chuchu"));
+    }
+
+    @Test
+    @DisplayName("should restart on characters outside the patterns, including non-ASCII ones")
+    void match_shouldRestartOnUnknownCharacters() {
+        AhoCorasick automaton = AhoCorasick.build(new String[]{"ab", "é"});
+
+        assertEquals(List.of(), matches(automaton, "a-b"));
+        assertEquals(List.of(1, 0), matches(automaton, "éab"));
+        assertEquals(List.of(), matches(automaton, "aüb"));
+    }
+
+    @Test
+    @DisplayName("should reject empty and repeated patterns")
+    void build_shouldRejectInvalidPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.build(new String[]{"pika", ""}));
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.build(new String[]{"pika", "chu", "pika"}));
+        assertEquals(0, AhoCorasick.build(new String[0]).patternCount());
+    }
+
+    @Test
+    @DisplayName("should find the same occurrences as searching every pattern on its own")
+    void match_shouldMatchBruteForce() {
+        String[] patterns = {"a", "ab", "bab", "bc", "bca", "c", "caa", "pika", "ika"};
+        AhoCorasick automaton = AhoCorasick.build(patterns);
+
+        for (String text : new String[]{"abccab", "pikachu", "babcaab", "", "xyz", "aaaa"}) {
+            int[] expected = new int[patterns.length];
+            for (int id = 0; id < patterns.length; id++) {
+                for (int from = text.indexOf(patterns[id]); from >= 0; from = text.indexOf(patterns[id], from + 1)) {
+                    expected[id]++;
+                }
+            }
+            int[] actual = new int[patterns.length];
+            automaton.match(text, id -> actual[id]++);
+            assertArrayEquals(expected, actual, text);
+        }
+    }
+}
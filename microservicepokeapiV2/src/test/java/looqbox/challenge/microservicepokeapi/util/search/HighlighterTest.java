@@ -0,0 +1,44 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighlighterTest {
+
+    @Test
+    @DisplayName("should highlight case-insensitive matches while keeping the name's casing")
+    void shouldHighlightIgnoringCase() {
+        assertEquals("<pre>Pika</pre>chu", Highlighter.highlight("Pikachu", "pIKA"));
+    }
+
+    @Test
+    @DisplayName("should highlight every non-overlapping occurrence")
+    void shouldHighlightEveryOccurrence() {
+        assertEquals("<pre>ab</pre>r<pre>ab</pre>", Highlighter.highlight("abrab", "ab"));
+        assertEquals("<pre>aa</pre><pre>aa</pre>a", Highlighter.highlight("aaaaa", "aa"));
+    }
+
+    @Test
+    @DisplayName("should start from the match offset found by the search")
+    void shouldReuseKnownOffset() {
+        assertEquals("mr-<pre>mime</pre>", Highlighter.highlight("mr-mime", "mr-mime", "mime", 3));
+    }
+
+    @Test
+    @DisplayName("should return the name unchanged when the query does not occur")
+    void shouldLeaveNonMatchesUnchanged() {
+        String name = "bulbasaur";
+
+        assertSame(name, Highlighter.highlight(name, "pika"));
+    }
+
+    @Test
+    @DisplayName("should mark the characters a fuzzy match keeps, around the edits")
+    void shouldHighlightAlignedCharacters() {
+        assertEquals("<pre>Char</pre>i<pre>zard</pre>", Highlighter.highlightAligned("Charizard", "charizard", "charzard"));
+        assertEquals("<pre>pikachu</pre>", Highlighter.highlightAligned("pikachu", "pikachu", "pikachuu"));
+        assertEquals("<pre>pi</pre>c<pre>hu</pre>", Highlighter.highlightAligned("pichu", "pichu", "pikhu"));
+    }
+}
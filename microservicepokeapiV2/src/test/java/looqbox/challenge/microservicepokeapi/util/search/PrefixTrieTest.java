@@ -0,0 +1,140 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie trie = PrefixTrie.build(new String[]{"pikachu", "charmander", "pichu", "charizard", "pidgey", "char", "mew"});
+
+    @Test
+    @DisplayName("should return the ids of every term starting with the prefix in alphabetical order")
+    void complete_shouldReturnCompletionsAlphabetically() {
+        assertArrayEquals(new int[]{2, 4, 0}, trie.complete("pi"));
+        assertArrayEquals(new int[]{5, 3, 1}, trie.complete("char"));
+        assertArrayEquals(new int[]{3}, trie.complete("chari"));
+    }
+
+    @Test
+    @DisplayName("should match prefixes ending inside a compressed edge")
+    void complete_shouldMatchInsideEdges() {
+        assertArrayEquals(new int[]{5, 3, 1}, trie.complete("ch"));
+        assertArrayEquals(new int[]{1}, trie.complete("charma"));
+        assertArrayEquals(new int[]{6}, trie.complete("me"));
+    }
+
+    @Test
+    @DisplayName("should return no ids when no term starts with the prefix")
+    void complete_shouldReturnEmptyForUnknownPrefix() {
+        assertArrayEquals(new int[0], trie.complete("pikachuu"));
+        assertArrayEquals(new int[0], trie.complete("chx"));
+        assertArrayEquals(new int[0], trie.complete("z"));
+        assertEquals(0, PrefixTrie.build(new String[0]).count("a"));
+    }
+
+    @Test
+    @DisplayName("should complete an empty prefix to every term")
+    void complete_shouldReturnAllTermsForEmptyPrefix() {
+        assertEquals(7, trie.count(""));
+        assertArrayEquals(new int[]{5, 3, 1, 6, 2, 4, 0}, trie.complete(""));
+    }
+
+    @Test
+    @DisplayName("should keep fewer than two nodes per term")
+    void build_shouldStayCompact() {
+        assertTrue(trie.nodeCount() < 2 * trie.size());
+    }
+
+    @Test
+    @DisplayName("should find terms within the edit bound, packed with their distance")
+    void fuzzySearch_shouldReturnTermsWithinDistance() {
+        assertArrayEquals(new long[]{1L << 32}, trie.fuzzySearch("pikachuu", 2));
+        assertArrayEquals(new long[]{(1L << 32) | 3}, trie.fuzzySearch("charzard", 1));
+        assertArrayEquals(new long[]{5}, trie.fuzzySearch("char", 1));
+        assertArrayEquals(new long[0], trie.fuzzySearch("bulbasaur", 2));
+    }
+
+    @Test
+    @DisplayName("should return the same matches as measuring every term, closest first")
+    void fuzzySearch_shouldMatchBruteForce() {
+        String[] terms = {"pikachu", "charmander", "pichu", "charizard", "pidgey", "char", "mew", "mewtwo", "raichu"};
+        PrefixTrie fuzzyTrie = PrefixTrie.build(terms);
+
+        for (String query : new String[]{"pikachuu", "pichu", "mwe", "raichuu", "chrmandr", ""}) {
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                int bound = maxDistance;
+                long[] expected = IntStream.range(0, terms.length)
+                        .mapToLong(id -> ((long) Levenshtein.distance(terms[id], query) << 32) | id)
+                        .filter(match -> (match >>> 32) <= bound)
+                        .sorted()
+                        .toArray();
+                assertArrayEquals(expected, fuzzyTrie.fuzzySearch(query, maxDistance), query + " within " + maxDistance);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should agree with measuring every term over a Pokédex-sized name set")
+    void fuzzySearch_shouldMatchBruteForceOverManyNames() {
+        // Names over a few letters share long prefixes and lie within a couple of edits of each other, like
+        // evolution lines do, so pruning and the diagonal band are exercised at every depth.
+        Random random = new Random(42);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < 1_300) {
+            names.add(randomName(random, 3 + random.nextInt(10)));
+        }
+        String[] terms = names.toArray(String[]::new);
+        PrefixTrie fuzzyTrie = PrefixTrie.build(terms);
+
+        for (int i = 0; i < 200; i++) {
+            String query = i % 2 == 0 ? mutate(random, terms[random.nextInt(terms.length)]) : randomName(random, 1 + random.nextInt(12));
+            int maxDistance = Levenshtein.maxEdits(query.length()) + random.nextInt(2);
+            long[] expected = IntStream.range(0, terms.length)
+                    .mapToLong(id -> ((long) Levenshtein.distance(terms[id], query) << 32) | id)
+                    .filter(match -> (match >>> 32) <= maxDistance)
+                    .sorted()
+                    .toArray();
+            assertArrayEquals(expected, fuzzyTrie.fuzzySearch(query, maxDistance), query + " within " + maxDistance);
+        }
+    }
+
+    private static String randomName(Random random, int length) {
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append("aceiklmnoprsu".charAt(random.nextInt(13)));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Applies up to two random insertions, deletions or substitutions, as a typing user would.
+     */
+    private static String mutate(Random random, String name) {
+        StringBuilder mutated = new StringBuilder(name);
+        for (int edits = random.nextInt(3); edits > 0; edits--) {
+            int at = random.nextInt(mutated.length() + 1);
+            char letter = (char) ('a' + random.nextInt(26));
+            switch (random.nextInt(3)) {
+                case 0 -> mutated.insert(at, letter);
+                case 1 -> {
+                    if (at < mutated.length()) {
+                        mutated.deleteCharAt(at);
+                    }
+                }
+                default -> {
+                    if (at < mutated.length()) {
+                        mutated.setCharAt(at, letter);
+                    }
+                }
+            }
+        }
+        return mutated.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package looqbox.challenge.microservicepokeapi.util.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = TrigramIndex.build(new String[]{"bulbasaur", "pikachu", "charizard", "raichu", "abcxbcd"});
+
+    @Test
+    @DisplayName("should return the ids of every term containing the query in ascending order")
+    void search_shouldReturnMatchingIds() {
+        assertArrayEquals(new int[]{1, 3}, index.search("chu"));
+        assertArrayEquals(new int[]{0}, index.search("lbasa"));
+    }
+
+    @Test
+    @DisplayName("should drop candidates whose trigrams match out of position")
+    void search_shouldVerifyCandidates() {
+        assertArrayEquals(new int[0], index.search("abcd"));
+    }
+
+    @Test
+    @DisplayName("should return no ids when a query trigram is not indexed")
+    void search_shouldReturnEmptyWhenGramIsMissing() {
+        assertArrayEquals(new int[0], index.search("mewtwo"));
+    }
+
+    @Test
+    @DisplayName("should reject queries shorter than a trigram")
+    void search_shouldRejectShortQueries() {
+        assertFalse(TrigramIndex.supports("ch"));
+        assertThrows(IllegalArgumentException.class, () -> index.search("ch"));
+    }
+
+    @Test
+    @DisplayName("should answer like a fresh build after patching in added and removed terms")
+    void patch_shouldMatchFreshBuild() {
+        // "pikachu" and "abcxbcd" are removed, "raichu" moves to id 2, "pichu" and "charmander" are added.
+        String[] terms = {"pichu", "bulbasaur", "charizard", "charmander", "raichu"};
+        TrigramIndex patched = index.patch(terms, new int[]{1, -1, 2, 4, -1}, new int[]{0, 3});
+        TrigramIndex rebuilt = TrigramIndex.build(terms);
+
+        for (String query : new String[]{"chu", "cha", "har", "lbasa", "abc", "kac", "pic"}) {
+            assertArrayEquals(rebuilt.search(query), patched.search(query), query);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedKeySortTest {
+
+    private static int[] expectedOrder(String[] names, Comparator<String> comparator) {
+        return IntStream.range(0, names.length).boxed()
+                .sorted(Comparator.comparing(index -> names[index], comparator))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Test
+    @DisplayName("should order names like String.compareTo, including shared prefixes and non-Latin-1 chars")
+    void shouldMatchStringOrder() {
+        Random random = new Random(3);
+        String alphabet = "ab-éĀ一z";
+        for (int round = 0; round < 500; round++) {
+            String[] names = new String[random.nextInt(200)];
+            for (int i = 0; i < names.length; i++) {
+                StringBuilder name = new StringBuilder("poke");
+                for (int length = random.nextInt(12); length > 0; length--) {
+                    name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                names[i] = name.toString();
+            }
+
+            assertArrayEquals(expectedOrder(names, Comparator.naturalOrder()), PackedKeySort.alphabeticalOrder(names));
+        }
+    }
+
+    @Test
+    @DisplayName("should counting sort names by length, keeping equal lengths in input order")
+    void shouldSortByLengthStably() {
+        String[] names = {"pikachu", "mew", "raichu", "abra", "bulbasaur", "onix", "mr-mime"};
+
+        int[] order = PackedKeySort.lengthOrder(names);
+
+        assertArrayEquals(expectedOrder(names, Comparator.comparingInt(String::length)), order);
+        assertEquals("[mew, abra, onix, raichu, pikachu, mr-mime, bulbasaur]",
+                Arrays.toString(Arrays.stream(order).mapToObj(index -> names[index]).toArray()));
+    }
+}
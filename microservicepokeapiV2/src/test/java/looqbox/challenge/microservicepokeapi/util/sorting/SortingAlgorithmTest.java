@@ -0,0 +1,82 @@
+package looqbox.challenge.microservicepokeapi.util.sorting;
+
+import looqbox.challenge.microservicepokeapi.model.Pokemon;
+import looqbox.challenge.microservicepokeapi.util.sorting.strategy.LengthStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortingAlgorithmTest {
+
+    private static List<Integer> sorted(List<Integer> items) {
+        List<Integer> expected = new ArrayList<>(items);
+        expected.sort(Comparator.naturalOrder());
+        return expected;
+    }
+
+    @ParameterizedTest
+    @EnumSource(SortingAlgorithm.class)
+    @DisplayName("should sort random, presorted, reversed and duplicate-heavy inputs")
+    void shouldSortAdversarialInputs(SortingAlgorithm algorithm) {
+        Random random = new Random(42);
+        List<List<Integer>> inputs = List.of(
+                IntStream.range(0, 5000).map(i -> random.nextInt()).boxed().toList(),
+                IntStream.range(0, 100_000).boxed().toList(),
+                IntStream.range(0, 100_000).map(i -> -i).boxed().toList(),
+                IntStream.range(0, 100_000).map(i -> i % 7).boxed().toList()
+        );
+
+        for (List<Integer> input : inputs) {
+            List<Integer> items = new ArrayList<>(input);
+            algorithm.sort(items, Comparator.naturalOrder());
+            assertEquals(sorted(input), items);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep names of the same length in their original order")
+    void shouldKeepTiesInOriginalOrder() {
+        List<Pokemon> pokemons = new ArrayList<>(List.of(
+                new Pokemon("pikachu"), new Pokemon("mew"), new Pokemon("raichu"),
+                new Pokemon("abra"), new Pokemon("bulbasaur"), new Pokemon("onix")));
+
+        new LengthStrategy().sort(pokemons);
+
+        assertEquals(List.of("mew", "abra", "onix", "raichu", "pikachu", "bulbasaur"),
+                pokemons.stream().map(Pokemon::getName).toList());
+    }
+
+    @Test
+    @DisplayName("should merge sort large inputs on a bounded fork-join pool, keeping ties in order")
+    void shouldSortInParallelAndStably() {
+        Random random = new Random(7);
+        List<int[]> items = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            items.add(new int[]{random.nextInt(100), i});
+        }
+        List<int[]> expected = new ArrayList<>(items);
+        Comparator<int[]> byKey = Comparator.comparingInt(item -> item[0]);
+        expected.sort(byKey);
+
+        ForkJoinPool pool = ParallelMergeSort.newPool(2);
+        try {
+            ParallelMergeSort.sort(items, byKey, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), items.get(i));
+        }
+    }
+}